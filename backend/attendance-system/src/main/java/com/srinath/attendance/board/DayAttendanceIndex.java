@@ -0,0 +1,310 @@
+package com.srinath.attendance.board;
+
+import com.srinath.attendance.entity.AttendanceStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Attendance of one day keyed by user, packed into parallel primitive arrays
+// (open addressing, linear probing): ~50 bytes per slot instead of an entity graph,
+// so 100k employees fit in a few MB. Per-status counters are kept alongside.
+public final class DayAttendanceIndex {
+
+    public record Entry(UUID attendanceId,
+                        AttendanceStatus status,
+                        LocalDateTime checkInTime,
+                        LocalDateTime checkOutTime,
+                        double totalHours,
+                        boolean lateApproved) {
+
+        public boolean checkedOut() {
+            return checkOutTime != null;
+        }
+    }
+
+    private static final AttendanceStatus[] STATUSES = AttendanceStatus.values();
+    private static final byte EMPTY = -1;
+    private static final int NO_TIME = Integer.MIN_VALUE;
+
+    private final LocalDate date;
+    private final LocalDateTime dayStart;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] userHi;
+    private long[] userLo;
+    private long[] idHi;
+    private long[] idLo;
+    private int[] checkInMillis;   // offset from the start of the day
+    private int[] checkOutMillis;
+    private double[] hours;
+    private byte[] status;         // ordinal, EMPTY for a free slot
+    private boolean[] lateApproved;
+    private int size;
+
+    private final long[] statusCounts = new long[STATUSES.length];
+
+    public DayAttendanceIndex(LocalDate date, int expectedSize) {
+        this.date = date;
+        this.dayStart = date.atStartOfDay();
+        allocate(Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1);
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public Optional<Entry> get(UUID userId) {
+        lock.readLock().lock();
+        try {
+            int i = find(userId.getMostSignificantBits(), userId.getLeastSignificantBits());
+            return i >= 0 ? Optional.of(entryAt(i)) : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // False when the user already has an entry for the day
+    public boolean add(UUID userId, Entry entry) {
+        lock.writeLock().lock();
+        try {
+            int i = find(userId.getMostSignificantBits(), userId.getLeastSignificantBits());
+            if (i >= 0) {
+                return false;
+            }
+            insert(-i - 1, userId, entry);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Insert or overwrite (loading from the database)
+    public void put(UUID userId, Entry entry) {
+        lock.writeLock().lock();
+        try {
+            int i = find(userId.getMostSignificantBits(), userId.getLeastSignificantBits());
+            if (i >= 0) {
+                statusCounts[status[i]]--;
+                write(i, userId, entry);
+                statusCounts[status[i]]++;
+            } else {
+                insert(-i - 1, userId, entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Removes the user's entry only if it is still the given attendance
+    public boolean remove(UUID userId, UUID attendanceId) {
+        lock.writeLock().lock();
+        try {
+            int i = find(userId.getMostSignificantBits(), userId.getLeastSignificantBits());
+            if (i < 0 || idHi[i] != attendanceId.getMostSignificantBits() || idLo[i] != attendanceId.getLeastSignificantBits()) {
+                return false;
+            }
+            statusCounts[status[i]]--;
+            delete(i);
+            size--;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // False when there is no check-in or the user already checked out
+    public boolean checkOut(UUID userId, LocalDateTime checkOutTime, double totalHours, AttendanceStatus newStatus) {
+        lock.writeLock().lock();
+        try {
+            int i = find(userId.getMostSignificantBits(), userId.getLeastSignificantBits());
+            if (i < 0 || checkInMillis[i] == NO_TIME || checkOutMillis[i] != NO_TIME) {
+                return false;
+            }
+            checkOutMillis[i] = toMillis(checkOutTime);
+            hours[i] = totalHours;
+            statusCounts[status[i]]--;
+            status[i] = (byte) newStatus.ordinal();
+            statusCounts[status[i]]++;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Reverts a check-out that could not be accepted
+    public void restore(UUID userId, Entry previous) {
+        put(userId, previous);
+    }
+
+    public boolean approveLate(UUID userId) {
+        lock.writeLock().lock();
+        try {
+            int i = find(userId.getMostSignificantBits(), userId.getLeastSignificantBits());
+            if (i < 0 || lateApproved[i]) {
+                return false;
+            }
+            lateApproved[i] = true;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long count(AttendanceStatus attendanceStatus) {
+        lock.readLock().lock();
+        try {
+            return statusCounts[attendanceStatus.ordinal()];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public EnumMap<AttendanceStatus, Long> countsByStatus() {
+        EnumMap<AttendanceStatus, Long> counts = new EnumMap<>(AttendanceStatus.class);
+        lock.readLock().lock();
+        try {
+            for (AttendanceStatus s : STATUSES) {
+                counts.put(s, statusCounts[s.ordinal()]);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return counts;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Slot of the key, or -(free slot) - 1 where it would be inserted
+    private int find(long hi, long lo) {
+        int mask = status.length - 1;
+        int i = home(hi, lo, mask);
+        while (status[i] != EMPTY) {
+            if (userHi[i] == hi && userLo[i] == lo) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -i - 1;
+    }
+
+    private void insert(int slot, UUID userId, Entry entry) {
+        write(slot, userId, entry);
+        statusCounts[status[slot]]++;
+        if (++size * 2 > status.length) {
+            resize();
+        }
+    }
+
+    private void write(int i, UUID userId, Entry entry) {
+        userHi[i] = userId.getMostSignificantBits();
+        userLo[i] = userId.getLeastSignificantBits();
+        idHi[i] = entry.attendanceId() != null ? entry.attendanceId().getMostSignificantBits() : 0L;
+        idLo[i] = entry.attendanceId() != null ? entry.attendanceId().getLeastSignificantBits() : 0L;
+        checkInMillis[i] = toMillis(entry.checkInTime());
+        checkOutMillis[i] = toMillis(entry.checkOutTime());
+        hours[i] = entry.totalHours();
+        status[i] = (byte) entry.status().ordinal();
+        lateApproved[i] = entry.lateApproved();
+    }
+
+    private Entry entryAt(int i) {
+        UUID attendanceId = idHi[i] == 0L && idLo[i] == 0L ? null : new UUID(idHi[i], idLo[i]);
+        return new Entry(attendanceId, STATUSES[status[i]], toTime(checkInMillis[i]), toTime(checkOutMillis[i]),
+                hours[i], lateApproved[i]);
+    }
+
+    // Backward-shift deletion keeps probe chains intact without tombstones
+    private void delete(int i) {
+        int mask = status.length - 1;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            if (status[j] == EMPTY) {
+                break;
+            }
+            int k = home(userHi[j], userLo[j], mask);
+            boolean staysPut = i <= j ? (i < k && k <= j) : (i < k || k <= j);
+            if (!staysPut) {
+                move(j, i);
+                i = j;
+            }
+        }
+        status[i] = EMPTY;
+    }
+
+    private void move(int from, int to) {
+        userHi[to] = userHi[from];
+        userLo[to] = userLo[from];
+        idHi[to] = idHi[from];
+        idLo[to] = idLo[from];
+        checkInMillis[to] = checkInMillis[from];
+        checkOutMillis[to] = checkOutMillis[from];
+        hours[to] = hours[from];
+        status[to] = status[from];
+        lateApproved[to] = lateApproved[from];
+    }
+
+    private void resize() {
+        long[] oldUserHi = userHi, oldUserLo = userLo, oldIdHi = idHi, oldIdLo = idLo;
+        int[] oldCheckIn = checkInMillis, oldCheckOut = checkOutMillis;
+        double[] oldHours = hours;
+        byte[] oldStatus = status;
+        boolean[] oldLate = lateApproved;
+
+        allocate(oldStatus.length << 1);
+        for (int from = 0; from < oldStatus.length; from++) {
+            if (oldStatus[from] == EMPTY) {
+                continue;
+            }
+            int to = -find(oldUserHi[from], oldUserLo[from]) - 1;
+            userHi[to] = oldUserHi[from];
+            userLo[to] = oldUserLo[from];
+            idHi[to] = oldIdHi[from];
+            idLo[to] = oldIdLo[from];
+            checkInMillis[to] = oldCheckIn[from];
+            checkOutMillis[to] = oldCheckOut[from];
+            hours[to] = oldHours[from];
+            status[to] = oldStatus[from];
+            lateApproved[to] = oldLate[from];
+        }
+    }
+
+    private void allocate(int capacity) {
+        userHi = new long[capacity];
+        userLo = new long[capacity];
+        idHi = new long[capacity];
+        idLo = new long[capacity];
+        checkInMillis = new int[capacity];
+        checkOutMillis = new int[capacity];
+        hours = new double[capacity];
+        status = new byte[capacity];
+        lateApproved = new boolean[capacity];
+        Arrays.fill(status, EMPTY);
+    }
+
+    private static int home(long hi, long lo, int mask) {
+        long h = (hi ^ lo) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private int toMillis(LocalDateTime time) {
+        return time != null ? (int) ChronoUnit.MILLIS.between(dayStart, time) : NO_TIME;
+    }
+
+    private LocalDateTime toTime(int millis) {
+        return millis != NO_TIME ? dayStart.plus(millis, ChronoUnit.MILLIS) : null;
+    }
+}
@@ -0,0 +1,58 @@
+package com.srinath.attendance.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// spring.threads.virtual.enabled switches Tomcat, the attendance-scheduler- tasks and async
+// request processing (streaming exports) to virtual threads. Request concurrency is then no
+// longer bounded by the Tomcat pool, so DB access is bounded here instead: at most
+// attendance.db.max-concurrency (default = Hikari pool size) connections borrowed at once.
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadConfig {
+
+    @Bean
+    static BeanPostProcessor dataSourceConcurrencyLimiter(Environment environment,
+                                                          ObjectProvider<MeterRegistry> meterRegistry) {
+        int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+        int maxConcurrency = environment.getProperty("attendance.db.max-concurrency", Integer.class, poolSize);
+        Duration acquireTimeout = environment.getProperty("attendance.db.acquire-timeout", Duration.class,
+                Duration.ofMillis(environment.getProperty("spring.datasource.hikari.connection-timeout", Long.class, 30_000L)));
+
+        if (maxConcurrency > poolSize) {
+            // More permits than connections just moves the queue back into Hikari
+            log.warn("attendance.db.max-concurrency ({}) exceeds the pool size ({}); capping", maxConcurrency, poolSize);
+            maxConcurrency = poolSize;
+        }
+        int permits = maxConcurrency;
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConcurrencyLimitingDataSource) {
+                    return bean;
+                }
+                ConcurrencyLimitingDataSource limited = new ConcurrencyLimitingDataSource(dataSource, permits, acquireTimeout);
+                meterRegistry.ifAvailable(registry -> {
+                    Gauge.builder("attendance.db.permits.available", limited, ConcurrencyLimitingDataSource::getAvailablePermits)
+                            .register(registry);
+                    Gauge.builder("attendance.db.permits.waiting", limited, ConcurrencyLimitingDataSource::getWaitingThreads)
+                            .register(registry);
+                });
+                log.info("Virtual threads enabled: DataSource '{}' limited to {} concurrent connections", beanName, permits);
+                return limited;
+            }
+        };
+    }
+}
@@ -2,9 +2,12 @@ package com.srinath.attendance.controller;
 
 import com.srinath.attendance.dto.response.TeamSummaryResponse;
 import com.srinath.attendance.dto.response.TodayStatusResponse;
+import com.srinath.attendance.entity.AttendanceStatus;
 import com.srinath.attendance.service.AttendanceService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -52,4 +55,15 @@ public class AttendanceController {
         TodayStatusResponse status = attendanceService.getTodayStatus();
         return ResponseEntity.ok(status);
     }
+
+    // 👨‍💼 TODAY STATUS, one status page by page (large present lists) - Manager only
+    @GetMapping("/today-status/{status}")
+    public ResponseEntity<Slice<TodayStatusResponse.EmployeeInfo>> getTodayStatusPage(
+            @PathVariable AttendanceStatus status,
+            Pageable pageable
+    ) {
+        log.info("Manager requesting today's {} employees, page {}", status, pageable.getPageNumber());
+
+        return ResponseEntity.ok(attendanceService.getTodayStatus(status, pageable));
+    }
 }
@@ -4,10 +4,10 @@ import com.srinath.attendance.dto.request.LoginRequest;
 import com.srinath.attendance.dto.request.RegisterRequest;
 import com.srinath.attendance.dto.response.AuthMeResponse;
 import com.srinath.attendance.dto.response.AuthResponse;
+import com.srinath.attendance.security.JwtClaims;
 import com.srinath.attendance.service.AuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -31,7 +31,7 @@ public class AuthController {
 
     // 🔐 ME - Get current user details
     @GetMapping("/me")
-    public AuthMeResponse getCurrentUser(@AuthenticationPrincipal com.srinath.attendance.security.CustomUserDetails userDetails) {
-        return authService.getCurrentUserDetails(userDetails.getUserId());
+    public AuthMeResponse getCurrentUser(@RequestAttribute(JwtClaims.REQUEST_ATTRIBUTE) JwtClaims claims) {
+        return authService.getCurrentUserDetails(claims.getUserId());
     }
 }
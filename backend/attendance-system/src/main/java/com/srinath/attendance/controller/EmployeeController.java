@@ -1,11 +1,12 @@
 package com.srinath.attendance.controller;
 
 import com.srinath.attendance.dto.response.AttendanceResponse;
+import com.srinath.attendance.dto.response.CursorPage;
 import com.srinath.attendance.dto.response.EmployeeDashboardResponse;
 import com.srinath.attendance.dto.response.MonthlyAttendanceSummaryDTO;
 import com.srinath.attendance.entity.Attendance;
-import com.srinath.attendance.entity.User;
-import com.srinath.attendance.security.CustomUserDetails;
+import com.srinath.attendance.security.JwtClaims;
+import com.srinath.attendance.service.AttendanceIngestionService;
 import com.srinath.attendance.service.AttendanceService;
 import com.srinath.attendance.service.DashboardService;
 import lombok.RequiredArgsConstructor;
@@ -14,9 +15,6 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
@@ -30,34 +28,21 @@ import java.util.UUID;
 @Slf4j
 public class EmployeeController {
 
+    private static final int MAX_SCROLL_SIZE = 366;
+
     private final AttendanceService attendanceService;
+    private final AttendanceIngestionService attendanceIngestionService;
     private final DashboardService dashboardService;
 
-    // Helper method to get current user ID
-    private UUID getCurrentUserId() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails) {
-            return ((CustomUserDetails) authentication.getPrincipal()).getUserId();
-        } else if (authentication != null && authentication.getPrincipal() instanceof org.springframework.security.core.userdetails.User) {
-            // Handle case where principal is Spring User (from JWT auth)
-            String email = ((org.springframework.security.core.userdetails.User) authentication.getPrincipal()).getUsername();
-            // Find user by email to get UUID
-            return attendanceService.findUserByEmail(email)
-                    .map(User::getId)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-        }
-        throw new RuntimeException("User not authenticated");
-    }
-
     // 🔹 Check-in
     @PostMapping("/check-in")
     public ResponseEntity<AttendanceResponse> checkIn(
-            @AuthenticationPrincipal CustomUserDetails userDetails
+            @RequestAttribute(JwtClaims.REQUEST_ATTRIBUTE) JwtClaims claims
     ) {
-        UUID userId = getCurrentUserId();
+        UUID userId = claims.getUserId();
         log.info("Check-in request from user: {}", userId);
 
-        Attendance attendance = attendanceService.checkIn(userId);
+        Attendance attendance = attendanceIngestionService.checkIn(userId);
 
         AttendanceResponse response = AttendanceResponse.builder()
                 .id(attendance.getId())
@@ -73,12 +58,12 @@ public class EmployeeController {
     // 🔹 Check-out
     @PostMapping("/check-out")
     public ResponseEntity<AttendanceResponse> checkOut(
-            @AuthenticationPrincipal CustomUserDetails userDetails
+            @RequestAttribute(JwtClaims.REQUEST_ATTRIBUTE) JwtClaims claims
     ) {
-        UUID userId = getCurrentUserId();
+        UUID userId = claims.getUserId();
         log.info("Check-out request from user: {}", userId);
 
-        Attendance attendance = attendanceService.checkOut(userId);
+        Attendance attendance = attendanceIngestionService.checkOut(userId);
 
         AttendanceResponse response = AttendanceResponse.builder()
                 .id(attendance.getId())
@@ -95,9 +80,9 @@ public class EmployeeController {
     // 🔹 Today's attendance status
     @GetMapping("/attendance/today")
     public ResponseEntity<AttendanceResponse> getTodayAttendance(
-            @AuthenticationPrincipal CustomUserDetails userDetails
+            @RequestAttribute(JwtClaims.REQUEST_ATTRIBUTE) JwtClaims claims
     ) {
-        UUID userId = getCurrentUserId();
+        UUID userId = claims.getUserId();
         log.info("Today's attendance request from user: {}", userId);
 
         Optional<Attendance> attendance = attendanceService.getTodayAttendance(userId);
@@ -123,12 +108,12 @@ public class EmployeeController {
     // 🔹 Attendance history with pagination
     @GetMapping("/attendance/history")
     public ResponseEntity<Page<AttendanceResponse>> getAttendanceHistory(
-            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestAttribute(JwtClaims.REQUEST_ATTRIBUTE) JwtClaims claims,
             @RequestParam(required = false) LocalDate from,
             @RequestParam(required = false) LocalDate to,
             Pageable pageable
     ) {
-        UUID userId = getCurrentUserId();
+        UUID userId = claims.getUserId();
         log.info("Attendance history request from user: {} for range {}-{}", userId, from, to);
 
         LocalDate startDate = from != null ? from : LocalDate.now().withDayOfMonth(1);
@@ -154,14 +139,46 @@ public class EmployeeController {
         return ResponseEntity.ok(response);
     }
 
+    // 🔹 Attendance history with keyset pagination (pass nextCursor back as cursor)
+    @GetMapping("/attendance/history/scroll")
+    public ResponseEntity<CursorPage<AttendanceResponse>> scrollAttendanceHistory(
+            @RequestAttribute(JwtClaims.REQUEST_ATTRIBUTE) JwtClaims claims,
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "31") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        UUID userId = claims.getUserId();
+        log.info("Attendance history scroll from user: {} for range {}-{}", userId, from, to);
+
+        LocalDate startDate = from != null ? from : LocalDate.now().withDayOfMonth(1);
+        LocalDate endDate = to != null ? to : LocalDate.now();
+
+        CursorPage<Attendance> attendances = attendanceService.scrollAttendanceHistory(
+                userId, startDate, endDate, cursor, Math.clamp(size, 1, MAX_SCROLL_SIZE), includeTotal);
+
+        CursorPage<AttendanceResponse> response = attendances.map(att -> AttendanceResponse.builder()
+                .id(att.getId())
+                .date(att.getDate())
+                .checkInTime(att.getCheckInTime())
+                .checkOutTime(att.getCheckOutTime())
+                .status(att.getStatus())
+                .totalHours(att.getTotalHours())
+                .lateApproved(att.isLateApproved())
+                .build());
+
+        return ResponseEntity.ok(response);
+    }
+
     // 🔹 Monthly attendance summary
     @GetMapping("/attendance/monthly/{month}/{year}")
     public ResponseEntity<MonthlyAttendanceSummaryDTO> getMonthlyAttendanceSummary(
-            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestAttribute(JwtClaims.REQUEST_ATTRIBUTE) JwtClaims claims,
             @PathVariable int month,
             @PathVariable int year
     ) {
-        UUID userId = getCurrentUserId();
+        UUID userId = claims.getUserId();
         log.info("Monthly summary request from user: {} for {}/{}", userId, month, year);
 
         YearMonth yearMonth = YearMonth.of(year, month);
@@ -176,9 +193,9 @@ public class EmployeeController {
     // 🔹 Employee dashboard
     @GetMapping("/dashboard")
     public ResponseEntity<EmployeeDashboardResponse> getDashboard(
-            @AuthenticationPrincipal CustomUserDetails userDetails
+            @RequestAttribute(JwtClaims.REQUEST_ATTRIBUTE) JwtClaims claims
     ) {
-        UUID userId = getCurrentUserId();
+        UUID userId = claims.getUserId();
         log.info("Dashboard request from user: {}", userId);
 
         EmployeeDashboardResponse dashboard = dashboardService.getEmployeeDashboard(userId);
@@ -1,13 +1,26 @@
 package com.srinath.attendance.controller;
 
+import com.srinath.attendance.dto.request.BulkLateApprovalRequest;
+import com.srinath.attendance.dto.request.ExportCriteria;
 import com.srinath.attendance.dto.response.AttendanceResponse;
+import com.srinath.attendance.dto.response.BulkLateApprovalResponse;
+import com.srinath.attendance.dto.response.CursorPage;
+import com.srinath.attendance.dto.response.ExportChunkResponse;
 import com.srinath.attendance.dto.response.ManagerDashboardResponse;
+import com.srinath.attendance.dto.summary.BadgeScanImportSummary;
+import com.srinath.attendance.dto.summary.UserImportSummary;
 import com.srinath.attendance.entity.Attendance;
 import com.srinath.attendance.entity.AttendanceStatus;
-import com.srinath.attendance.entity.User;
-import com.srinath.attendance.security.CustomUserDetails;
+import com.srinath.attendance.exception.InvalidExportRequestException;
+import com.srinath.attendance.repository.AttendanceCursor;
+import com.srinath.attendance.security.JwtClaims;
+import com.srinath.attendance.service.AttendanceExportService;
 import com.srinath.attendance.service.AttendanceService;
+import com.srinath.attendance.service.BadgeScanImportService;
 import com.srinath.attendance.service.DashboardService;
+import com.srinath.attendance.service.LateApprovalService;
+import com.srinath.attendance.service.UserImportService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -15,12 +28,15 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/manager")
@@ -28,8 +44,16 @@ import java.util.UUID;
 @Slf4j
 public class ManagerController {
 
+    private static final int MAX_SCROLL_SIZE = 500;
+    // Smaller chunks would make one plan response carry a cursor per handful of rows
+    private static final int MIN_EXPORT_CHUNK_SIZE = 10_000;
+
     private final AttendanceService attendanceService;
     private final DashboardService dashboardService;
+    private final AttendanceExportService attendanceExportService;
+    private final BadgeScanImportService badgeScanImportService;
+    private final LateApprovalService lateApprovalService;
+    private final UserImportService userImportService;
 
     // 🔹 Get all attendances for a specific date
     @GetMapping("/attendance")
@@ -57,6 +81,34 @@ public class ManagerController {
         return ResponseEntity.ok(response);
     }
 
+    // 🔹 Attendances of a date with keyset pagination (pass nextCursor back as cursor)
+    @GetMapping("/attendance/scroll")
+    public ResponseEntity<CursorPage<AttendanceResponse>> scrollAttendances(
+            @RequestParam(required = false) LocalDate date,
+            @RequestParam(required = false) AttendanceStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        LocalDate queryDate = date != null ? date : LocalDate.now();
+        log.info("Manager scrolling attendances for date: {} with status: {}", queryDate, status);
+
+        CursorPage<Attendance> attendances = attendanceService.scrollAttendanceByDate(
+                queryDate, status, cursor, Math.clamp(size, 1, MAX_SCROLL_SIZE), includeTotal);
+
+        CursorPage<AttendanceResponse> response = attendances.map(att -> AttendanceResponse.builder()
+                .id(att.getId())
+                .date(att.getDate())
+                .checkInTime(att.getCheckInTime())
+                .checkOutTime(att.getCheckOutTime())
+                .status(att.getStatus())
+                .totalHours(att.getTotalHours())
+                .lateApproved(att.isLateApproved())
+                .build());
+
+        return ResponseEntity.ok(response);
+    }
+
     // 🔹 Get attendance history for a specific employee
     @GetMapping("/attendance/{userId}")
     public ResponseEntity<Page<AttendanceResponse>> getEmployeeAttendance(
@@ -94,11 +146,11 @@ public class ManagerController {
     @PostMapping("/attendance/{attendanceId}/approve-late")
     public ResponseEntity<AttendanceResponse> approveLate(
             @PathVariable UUID attendanceId,
-            @AuthenticationPrincipal CustomUserDetails managerDetails
+            @RequestAttribute(JwtClaims.REQUEST_ATTRIBUTE) JwtClaims claims
     ) {
-        log.info("Manager {} approving late for attendance: {}", managerDetails.getUserId(), attendanceId);
+        log.info("Manager {} approving late for attendance: {}", claims.getUserId(), attendanceId);
 
-        Attendance attendance = attendanceService.approveLate(attendanceId, managerDetails.getUserId());
+        Attendance attendance = attendanceService.approveLate(attendanceId, claims.getUserId());
 
         AttendanceResponse response = AttendanceResponse.builder()
                 .id(attendance.getId())
@@ -113,6 +165,47 @@ public class ManagerController {
         return ResponseEntity.ok(response);
     }
 
+    // 🔹 Approve late arrivals in bulk (ids, or date + optional department/status filter)
+    @PostMapping("/attendance/approve-late/bulk")
+    public ResponseEntity<BulkLateApprovalResponse> approveLateBulk(
+            @Valid @RequestBody BulkLateApprovalRequest request,
+            @RequestAttribute(JwtClaims.REQUEST_ATTRIBUTE) JwtClaims claims
+    ) {
+        log.info("Manager {} approving late in bulk ({} ids, date {}, department {})", claims.getUserId(),
+                request.getAttendanceIds() != null ? request.getAttendanceIds().size() : 0,
+                request.getDate(), request.getDepartmentId());
+
+        return ResponseEntity.ok(lateApprovalService.approveLate(request, claims.getUserId()));
+    }
+
+    // 🔹 Bulk badge-reader scans (employeeId,timestamp,direction as CSV or NDJSON), streamed
+    @PostMapping(value = "/attendance/scans", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<BadgeScanImportSummary> importBadgeScans(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body
+    ) throws IOException {
+        BadgeScanImportService.Format format = contentType.toLowerCase().startsWith("application/x-ndjson")
+                ? BadgeScanImportService.Format.NDJSON
+                : BadgeScanImportService.Format.CSV;
+        log.info("Manager importing badge scans ({})", format);
+
+        return ResponseEntity.ok(badgeScanImportService.importScans(body, format));
+    }
+
+    // 🔹 Bulk employee onboarding (name,email,password,departmentId[,role] as CSV or NDJSON)
+    @PostMapping(value = "/users/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<UserImportSummary> importUsers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body
+    ) throws IOException {
+        UserImportService.Format format = contentType.toLowerCase().startsWith("application/x-ndjson")
+                ? UserImportService.Format.NDJSON
+                : UserImportService.Format.CSV;
+        log.info("Manager importing users ({})", format);
+
+        return ResponseEntity.ok(userImportService.importUsers(body, format));
+    }
+
     // 🔹 Manager dashboard
     @GetMapping("/dashboard")
     public ResponseEntity<ManagerDashboardResponse> getDashboard() {
@@ -123,59 +216,86 @@ public class ManagerController {
         return ResponseEntity.ok(dashboard);
     }
 
-    // 🔹 CSV export with streaming
+    // 🔹 Employees without attendance for a date (paginated)
+    @GetMapping("/absent")
+    public ResponseEntity<Page<ManagerDashboardResponse.AbsentEmployeeDTO>> getAbsentEmployees(
+            @RequestParam(required = false) LocalDate date,
+            Pageable pageable
+    ) {
+        LocalDate queryDate = date != null ? date : LocalDate.now();
+        log.info("Manager requesting absent employees for date: {}", queryDate);
+
+        return ResponseEntity.ok(dashboardService.getAbsentEmployees(queryDate, pageable));
+    }
+
+    // 🔹 CSV export with streaming (whole range, or one keyset chunk when after/until are given)
     @GetMapping("/export/csv")
-    public ResponseEntity<byte[]> exportAttendanceCSV(
+    public ResponseEntity<StreamingResponseBody> exportAttendanceCSV(
             @RequestParam(required = false) LocalDate from,
-            @RequestParam(required = false) LocalDate to
+            @RequestParam(required = false) LocalDate to,
+            @RequestParam(required = false) UUID departmentId,
+            @RequestParam(required = false) AttendanceStatus status,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String until,
+            @RequestParam(defaultValue = "true") boolean includeHeader,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
     ) {
-        log.info("Exporting attendance CSV from {} to {}", from, to);
-
-        LocalDate startDate = from != null ? from : LocalDate.now().withDayOfMonth(1);
-        LocalDate endDate = to != null ? to : LocalDate.now();
+        log.info("Exporting attendance CSV from {} to {} (department {}, status {})", from, to, departmentId, status);
 
-        String csvContent = generateCSVContent(startDate, endDate);
-        byte[] csvBytes = csvContent.getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        ExportCriteria criteria = exportCriteria(from, to, departmentId, status, after, until);
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
 
         HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType("text/csv"));
-        headers.setContentDispositionFormData("attachment", "attendance_" + startDate + "_to_" + endDate + ".csv");
-        headers.setContentLength(csvBytes.length);
+        headers.setContentType(MediaType.parseMediaType("text/csv; charset=UTF-8"));
+        headers.setContentDispositionFormData("attachment",
+                "attendance_" + criteria.getStartDate() + "_to_" + criteria.getEndDate() + ".csv");
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            headers.add(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                try (GZIPOutputStream gzipOut = new GZIPOutputStream(out, 64 * 1024)) {
+                    attendanceExportService.exportCsv(criteria, includeHeader, gzipOut);
+                }
+            } else {
+                attendanceExportService.exportCsv(criteria, includeHeader, out);
+            }
+        };
 
         return ResponseEntity.ok()
                 .headers(headers)
-                .body(csvBytes);
+                .body(body);
     }
 
-    // Helper method to generate CSV content
-    private String generateCSVContent(LocalDate startDate, LocalDate endDate) {
-        StringBuilder csv = new StringBuilder();
-        csv.append("Employee ID,Employee Name,Department,Date,Status,Check In,Check Out,Total Hours,Late Approved\n");
-
-        Page<Attendance> attendances = attendanceService.getAttendanceHistory(
-                null, // All users
-                startDate,
-                endDate,
-                org.springframework.data.domain.Pageable.unpaged()
-        );
-
-        for (Attendance attendance : attendances.getContent()) {
-            User user = attendance.getUser();
-            String employeeId = user.getEmployeeId() != null ? user.getEmployeeId() : "";
-            String employeeName = user.getName() != null ? user.getName() : "";
-            String department = user.getDepartment() != null ? user.getDepartment().getName() : "";
-            String date = attendance.getDate() != null ? attendance.getDate().toString() : "";
-            String status = attendance.getStatus() != null ? attendance.getStatus().toString() : "";
-            String checkIn = attendance.getCheckInTime() != null ? attendance.getCheckInTime().toString() : "";
-            String checkOut = attendance.getCheckOutTime() != null ? attendance.getCheckOutTime().toString() : "";
-            String totalHours = attendance.getTotalHours() != null ? attendance.getTotalHours().toString() : "0.0";
-            String lateApproved = attendance.isLateApproved() ? "Yes" : "No";
-
-            csv.append(String.format("\"%s\",\"%s\",\"%s\",\"%s\",\"%s\",\"%s\",\"%s\",\"%s\",\"%s\"\n",
-                    employeeId, employeeName, department, date, status, checkIn, checkOut, totalHours, lateApproved));
+    // 🔹 Split an export range into keyset chunks that can be downloaded in parallel
+    @GetMapping("/export/csv/chunks")
+    public ResponseEntity<List<ExportChunkResponse>> planExportChunks(
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) LocalDate to,
+            @RequestParam(required = false) UUID departmentId,
+            @RequestParam(required = false) AttendanceStatus status,
+            @RequestParam(defaultValue = "500000") int chunkSize
+    ) {
+        log.info("Planning attendance export chunks from {} to {} with chunk size {}", from, to, chunkSize);
+        if (chunkSize < MIN_EXPORT_CHUNK_SIZE) {
+            throw new InvalidExportRequestException("chunkSize must be at least " + MIN_EXPORT_CHUNK_SIZE);
         }
 
-        return csv.toString();
+        ExportCriteria criteria = exportCriteria(from, to, departmentId, status, null, null);
+        return ResponseEntity.ok(attendanceExportService.planChunks(criteria, chunkSize));
     }
-}
 
+    private ExportCriteria exportCriteria(LocalDate from, LocalDate to, UUID departmentId,
+                                          AttendanceStatus status, String after, String until) {
+        return ExportCriteria.builder()
+                .startDate(from != null ? from : LocalDate.now().withDayOfMonth(1))
+                .endDate(to != null ? to : LocalDate.now())
+                .departmentId(departmentId)
+                .status(status)
+                .after(AttendanceCursor.decode(after))
+                .until(AttendanceCursor.decode(until))
+                .build();
+    }
+}
@@ -0,0 +1,17 @@
+package com.srinath.attendance.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// One badge-reader scan: employeeId, ISO-8601 timestamp, direction IN/OUT
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BadgeScan {
+    private String employeeId;
+    private String timestamp;
+    private String direction;
+}
@@ -0,0 +1,24 @@
+package com.srinath.attendance.dto.request;
+
+import com.srinath.attendance.entity.AttendanceStatus;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+// Either explicit attendance ids, or a filter: every unapproved row of a date with the
+// given status (LATE by default), optionally within one department. With ids, a date is
+// optional and limits the lookup to that day's partition (ids on other days are not found).
+@Getter
+@Setter
+public class BulkLateApprovalRequest {
+    @Size(max = 10000, message = "At most 10000 attendance ids per request")
+    private List<UUID> attendanceIds;
+
+    private LocalDate date;
+    private UUID departmentId;
+    private AttendanceStatus status;
+}
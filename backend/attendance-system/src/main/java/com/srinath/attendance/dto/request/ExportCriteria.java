@@ -0,0 +1,21 @@
+package com.srinath.attendance.dto.request;
+
+import com.srinath.attendance.entity.AttendanceStatus;
+import com.srinath.attendance.repository.AttendanceCursor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+// Company-wide export scope; after/until bound a keyset chunk as (after, until]
+@Getter
+@Builder
+public class ExportCriteria {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private UUID departmentId;
+    private AttendanceStatus status;
+    private AttendanceCursor after;
+    private AttendanceCursor until;
+}
@@ -0,0 +1,26 @@
+package com.srinath.attendance.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Builder
+public class BulkLateApprovalResponse {
+    private int approved;
+    private int alreadyApproved;
+    private int notFound;
+    private List<Outcome> outcomes;
+
+    public enum Result {APPROVED, ALREADY_APPROVED, NOT_FOUND}
+
+    @Getter
+    @AllArgsConstructor
+    public static class Outcome {
+        private UUID attendanceId;
+        private Result result;
+    }
+}
@@ -0,0 +1,11 @@
+package com.srinath.attendance.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class ExportChunkResponse {
+    private String after;
+    private String until;
+}
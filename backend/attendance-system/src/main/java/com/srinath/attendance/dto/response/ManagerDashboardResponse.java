@@ -15,6 +15,7 @@ public class ManagerDashboardResponse {
     private List<WeeklyTrendDTO> weeklyTrend;
     private List<DepartmentStatDTO> departmentStats;
     private List<AbsentEmployeeDTO> absentEmployeesToday;
+    private long absentEmployeesTotal;
 
     @Getter
     @Builder
@@ -16,6 +16,7 @@ public class TodayStatusResponse {
     private List<EmployeeInfo> presentEmployees;
     private List<EmployeeInfo> absentEmployees;
     private List<EmployeeInfo> lateEmployees;
+    private List<EmployeeInfo> halfDayEmployees;
 
     @Getter
     @Builder
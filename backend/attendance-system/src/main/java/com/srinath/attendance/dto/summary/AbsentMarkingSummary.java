@@ -0,0 +1,16 @@
+package com.srinath.attendance.dto.summary;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+@Getter
+@Builder
+public class AbsentMarkingSummary {
+    private LocalDate date;
+    private int usersMarked;
+    private int chunks;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+}
@@ -0,0 +1,30 @@
+package com.srinath.attendance.dto.summary;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class BadgeScanImportSummary {
+    private long linesRead;
+    private long scansAccepted;
+    private int attendancesInserted;
+    private int attendancesUpdated;
+    // Rows created by a concurrent check-in between the lock and the insert; resubmit those scans
+    private int conflicts;
+    private long errorCount;
+    // First errors only (attendance.badge-import.max-reported-errors)
+    private List<LineError> errors;
+    private long elapsedMillis;
+    private double scansPerSecond;
+
+    @Getter
+    @AllArgsConstructor
+    public static class LineError {
+        private long line;
+        private String message;
+    }
+}
@@ -0,0 +1,32 @@
+package com.srinath.attendance.dto.summary;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class UserImportSummary {
+    private long rowsRead;
+    private int usersCreated;
+    // Emails that were already registered; re-importing the same file is therefore safe
+    private int skippedExisting;
+    // Rows that lost a race with a concurrent registration on email or employee id
+    private int conflicts;
+    // Any row error rejects the whole file before anything is hashed or written
+    private long errorCount;
+    // First errors only (attendance.user-import.max-reported-errors)
+    private List<RowError> errors;
+    private long hashingMillis;
+    private long elapsedMillis;
+    private double usersPerSecond;
+
+    @Getter
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
@@ -10,9 +10,10 @@ import java.util.UUID;
 @Table(
         name = "attendances",
         uniqueConstraints = @UniqueConstraint(name = "uk_user_date", columnNames = {"user_id","date"}),
+        // Key columns only; INCLUDE columns and the partial open check-in index live in V12
         indexes = {
-                @Index(name = "idx_user_date", columnList = "user_id,date"),
-                @Index(name = "idx_date", columnList = "date")
+                @Index(name = "idx_attendance_date_status", columnList = "date,status"),
+                @Index(name = "idx_attendance_date_id", columnList = "date,id")
         })
 @Getter
 @Setter
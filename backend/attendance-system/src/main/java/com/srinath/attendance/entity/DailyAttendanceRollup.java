@@ -0,0 +1,54 @@
+package com.srinath.attendance.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+// Precomputed per-day, per-department, per-status totals maintained alongside attendance writes.
+// Each total is split over slot rows (summed on read) so concurrent writers rarely share a row.
+@Entity
+@Table(name = "daily_attendance_rollup")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyAttendanceRollup {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "attendance_count", nullable = false)
+    private long attendanceCount;
+
+    @Column(name = "total_hours", nullable = false)
+    private double totalHours;
+
+    @Column(name = "late_approved_count", nullable = false)
+    private long lateApprovedCount;
+
+    @Embeddable
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        @Column(nullable = false)
+        private LocalDate date;
+
+        @Column(name = "department_id", nullable = false)
+        private UUID departmentId;
+
+        @Enumerated(EnumType.STRING)
+        @Column(nullable = false, length = 20)
+        private AttendanceStatus status;
+
+        @Column(nullable = false)
+        private short slot;
+    }
+}
@@ -0,0 +1,56 @@
+package com.srinath.attendance.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// A slice of a job run (e.g. one department) that any node may claim
+@Entity
+@Table(
+        name = "job_partitions",
+        uniqueConstraints = @UniqueConstraint(name = "uk_job_partition", columnNames = {"job_name", "run_date", "partition_key"}),
+        indexes = {@Index(name = "idx_job_partition_run", columnList = "job_name,run_date,status")}
+)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobPartition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "job_name", nullable = false, length = 100)
+    private String jobName;
+
+    @Column(name = "run_date", nullable = false)
+    private LocalDate runDate;
+
+    @Column(name = "partition_key", nullable = false, length = 100)
+    private String partitionKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private JobPartitionStatus status;
+
+    @Column(length = 100)
+    private String owner;
+
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "rows_processed", nullable = false)
+    private int rowsProcessed;
+
+    // Incremented by every claim; FAILED partitions are reclaimed until the configured maximum
+    @Column(nullable = false)
+    private int attempts;
+}
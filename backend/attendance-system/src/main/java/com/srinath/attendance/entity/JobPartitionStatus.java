@@ -0,0 +1,3 @@
+package com.srinath.attendance.entity;
+
+public enum JobPartitionStatus { PENDING, RUNNING, DONE, FAILED }
@@ -2,10 +2,14 @@ package com.srinath.attendance.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(
         name = "roles",
         uniqueConstraints = @UniqueConstraint(name = "uk_role_name", columnNames = "name")
@@ -46,6 +46,11 @@ public class User extends BaseEntity {
     @Column(nullable = false)
     private boolean enabled = true;
 
+    // Incremented to revoke stateless tokens issued for this user; only ever written by the
+    // atomic UserJdbcRepository.bumpTokenVersion, never by entity flushes
+    @Column(name = "token_version", nullable = false, insertable = false, updatable = false)
+    private int tokenVersion;
+
     // 🔐 Spring Security readiness
 //    @Column(nullable = false)
 //    private boolean accountNonLocked = true;
@@ -1,6 +1,7 @@
 package com.srinath.attendance.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -85,6 +86,52 @@ public class GlobalExceptionHandler {
                 .body(ex.getMessage());
     }
 
+    // 🔴 Malformed pagination cursor
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<String> handleInvalidCursor(
+            InvalidCursorException ex
+    ) {
+        log.warn("Invalid cursor: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ex.getMessage());
+    }
+
+    // 🔴 Export parameters out of range
+    @ExceptionHandler(InvalidExportRequestException.class)
+    public ResponseEntity<String> handleInvalidExportRequest(
+            InvalidExportRequestException ex
+    ) {
+        log.warn("Invalid export request: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ex.getMessage());
+    }
+
+    // 🔴 Ingestion queue full (backpressure)
+    @ExceptionHandler(IngestionBackpressureException.class)
+    public ResponseEntity<String> handleIngestionBackpressure(
+            IngestionBackpressureException ex
+    ) {
+        log.warn("Ingestion backpressure: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(ex.getMessage());
+    }
+
+    // 🔴 Password hashing pool saturated (login/registration burst)
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<String> handlePasswordHashingBusy(
+            PasswordHashingBusyException ex
+    ) {
+        log.warn("Password hashing busy: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(ex.getMessage());
+    }
+
     // 🔴 Bad credentials (login failure)
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<String> handleBadCredentials(
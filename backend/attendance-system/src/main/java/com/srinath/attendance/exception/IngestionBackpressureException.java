@@ -0,0 +1,17 @@
+package com.srinath.attendance.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+// The ingestion queue is full; clients should retry after the given delay
+@Getter
+public class IngestionBackpressureException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public IngestionBackpressureException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,17 @@
+package com.srinath.attendance.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+// The password-hashing pool is saturated; clients should retry after the given delay
+@Getter
+public class PasswordHashingBusyException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public PasswordHashingBusyException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
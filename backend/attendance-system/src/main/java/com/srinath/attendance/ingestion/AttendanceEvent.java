@@ -0,0 +1,48 @@
+package com.srinath.attendance.ingestion;
+
+import com.srinath.attendance.entity.AttendanceStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+// Accepted check-in/check-out waiting to be written; also the record format of the local event log
+public record AttendanceEvent(long sequence,
+                              Type type,
+                              UUID attendanceId,
+                              UUID userId,
+                              LocalDate date,
+                              LocalDateTime time,
+                              AttendanceStatus status,
+                              double totalHours) {
+
+    public enum Type {
+        CHECK_IN,
+        CHECK_OUT
+    }
+
+    private static final String SEPARATOR = "|";
+
+    String toLogLine() {
+        return String.join(SEPARATOR,
+                Long.toString(sequence), type.name(), attendanceId.toString(), userId.toString(),
+                date.toString(), time.toString(), status.name(), Double.toString(totalHours));
+    }
+
+    static AttendanceEvent fromLogLine(String line) {
+        String[] parts = line.split(Pattern.quote(SEPARATOR));
+        if (parts.length != 8) {
+            throw new IllegalArgumentException("Malformed event: " + line);
+        }
+        return new AttendanceEvent(
+                Long.parseLong(parts[0]),
+                Type.valueOf(parts[1]),
+                UUID.fromString(parts[2]),
+                UUID.fromString(parts[3]),
+                LocalDate.parse(parts[4]),
+                LocalDateTime.parse(parts[5]),
+                AttendanceStatus.valueOf(parts[6]),
+                Double.parseDouble(parts[7]));
+    }
+}
@@ -0,0 +1,112 @@
+package com.srinath.attendance.ingestion;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// Append-only local log of accepted events. An event is appended (and optionally fsynced)
+// before the request is acknowledged; a commit marker records that every event up to a
+// sequence is in the database. Once everything appended is committed the file is truncated.
+@Slf4j
+public class AttendanceEventLog implements Closeable {
+
+    private static final String COMMIT_PREFIX = "C|";
+
+    private final Path path;
+    private final FileChannel channel;
+    private final boolean fsync;
+    private long lastAppended;
+
+    public AttendanceEventLog(Path path, boolean fsync) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.path = path;
+        this.fsync = fsync;
+        this.channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.channel.position(channel.size());
+    }
+
+    // Events appended after the last commit marker, in append order
+    public synchronized List<AttendanceEvent> recover() throws IOException {
+        List<AttendanceEvent> pending = new ArrayList<>();
+        long committed = 0;
+
+        for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                if (line.startsWith(COMMIT_PREFIX)) {
+                    committed = Long.parseLong(line.substring(COMMIT_PREFIX.length()));
+                } else {
+                    pending.add(AttendanceEvent.fromLogLine(line));
+                }
+            } catch (IllegalArgumentException e) {
+                // Torn write from a crash mid-append; that request was never acknowledged
+                log.warn("Skipping unreadable event log line: {}", line);
+            }
+        }
+
+        long lastCommitted = committed;
+        pending.removeIf(event -> event.sequence() <= lastCommitted);
+        lastAppended = pending.isEmpty() ? committed : pending.get(pending.size() - 1).sequence();
+        return pending;
+    }
+
+    public synchronized void append(AttendanceEvent event) {
+        write(event.toLogLine());
+        lastAppended = event.sequence();
+    }
+
+    // Everything up to and including the sequence is durable in the database
+    public synchronized void commit(long sequence) {
+        try {
+            if (sequence >= lastAppended) {
+                channel.truncate(0);
+                channel.position(0);
+                if (fsync) {
+                    channel.force(false);
+                }
+            } else {
+                write(COMMIT_PREFIX + sequence);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized long lastAppended() {
+        return lastAppended;
+    }
+
+    private void write(String line) {
+        ByteBuffer buffer = ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.UTF_8));
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+}
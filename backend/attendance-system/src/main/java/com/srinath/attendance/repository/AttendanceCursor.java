@@ -0,0 +1,43 @@
+package com.srinath.attendance.repository;
+
+import com.srinath.attendance.exception.InvalidCursorException;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.UUID;
+
+// Keyset position (date, id) in attendance order, exchanged with clients as an opaque token
+@Getter
+@EqualsAndHashCode
+public final class AttendanceCursor {
+
+    private final LocalDate date;
+    private final UUID id;
+
+    public AttendanceCursor(LocalDate date, UUID id) {
+        this.date = date;
+        this.id = id;
+    }
+
+    public String encode() {
+        String raw = date + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static AttendanceCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new AttendanceCursor(LocalDate.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Invalid cursor", e);
+        }
+    }
+}
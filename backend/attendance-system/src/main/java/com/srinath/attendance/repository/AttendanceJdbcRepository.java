@@ -0,0 +1,578 @@
+package com.srinath.attendance.repository;
+
+import com.srinath.attendance.dto.request.ExportCriteria;
+import com.srinath.attendance.entity.Attendance;
+import com.srinath.attendance.entity.AttendanceStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+// Set-based attendance reads/writes that bypass the JPA entity lifecycle
+@Repository
+@RequiredArgsConstructor
+public class AttendanceJdbcRepository {
+
+    private static final String FIND_USERS_WITHOUT_ATTENDANCE = """
+            SELECT u.id FROM users u
+            WHERE NOT EXISTS (SELECT 1 FROM attendances a WHERE a.user_id = u.id AND a.date = ?)
+            """;
+
+    private static final String INSERT_ABSENT = """
+            INSERT INTO attendances (id, user_id, date, status, total_hours, late_approved, created_at, updated_at)
+            SELECT ?, ?, ?, 'ABSENT', 0.0, false, ?, ?
+            WHERE NOT EXISTS (SELECT 1 FROM attendances a WHERE a.user_id = ? AND a.date = ?)
+            """;
+
+    private static final String COUNT_IDS = "SELECT COUNT(*) FROM attendances WHERE id IN (%s)";
+
+    // The date predicate prunes the count to one partition
+    private static final String COUNT_IDS_ON_DATE = "SELECT COUNT(*) FROM attendances WHERE date = ? AND id IN (%s)";
+
+    // Rows a batch wrote carry its timestamp; rows it skipped keep an older one
+    private static final String FIND_STAMPED_IDS = "SELECT id FROM attendances WHERE date IN (%s) AND %s = ? AND id IN (%s)";
+
+    private static final String INSERT_CHECK_IN = """
+            INSERT INTO attendances (id, user_id, date, check_in_time, status, total_hours, late_approved, created_at, updated_at)
+            """;
+
+    // PostgreSQL: conflicting (user_id, date) rows are skipped atomically by the unique index
+    private static final String INSERT_CHECK_IN_ON_CONFLICT = INSERT_CHECK_IN + """
+            VALUES (?, ?, ?, ?, ?, 0.0, false, ?, ?)
+            ON CONFLICT (user_id, date) DO NOTHING
+            """;
+
+    // Portable fallback (H2): guarded insert; a concurrent winner surfaces as a duplicate key
+    private static final String INSERT_CHECK_IN_IF_ABSENT = INSERT_CHECK_IN + """
+            SELECT ?, ?, ?, ?, ?, 0.0, false, ?, ?
+            WHERE NOT EXISTS (SELECT 1 FROM attendances a WHERE a.user_id = ? AND a.date = ?)
+            """;
+
+    // The date predicate lets PostgreSQL prune to a single monthly partition
+    private static final String UPDATE_CHECK_OUT = """
+            UPDATE attendances SET check_out_time = ?, total_hours = ?, status = ?, updated_at = ?
+            WHERE id = ? AND date = ? AND check_out_time IS NULL
+            """;
+
+    private static final String LOCK_DAY_ROWS = """
+            SELECT id, user_id, check_in_time, check_out_time, status, late_approved
+            FROM attendances WHERE date = ? AND user_id IN (%s) FOR UPDATE
+            """;
+
+    private static final String INSERT_SCANNED = """
+            INSERT INTO attendances (id, user_id, date, check_in_time, check_out_time, status, total_hours, late_approved, created_at, updated_at)
+            """;
+
+    private static final String INSERT_SCANNED_ON_CONFLICT = INSERT_SCANNED + """
+            VALUES (?, ?, ?, ?, ?, ?, ?, false, ?, ?)
+            ON CONFLICT (user_id, date) DO NOTHING
+            """;
+
+    private static final String INSERT_SCANNED_IF_ABSENT = INSERT_SCANNED + """
+            SELECT ?, ?, ?, ?, ?, ?, ?, false, ?, ?
+            WHERE NOT EXISTS (SELECT 1 FROM attendances a WHERE a.user_id = ? AND a.date = ?)
+            """;
+
+    private static final String UPDATE_SCANNED = """
+            UPDATE attendances SET check_in_time = ?, check_out_time = ?, status = ?, total_hours = ?, updated_at = ?
+            WHERE id = ? AND date = ?
+            """;
+
+    // PostgreSQL: lock the day's row, close it if still open (hours computed from the stored
+    // check-in, minus the break, floored at 0) and report the row either way, in one statement.
+    // After waiting on a concurrent check-out the lock re-reads the row, so only one caller wins.
+    private static final String CHECK_OUT_RETURNING = """
+            WITH target AS (
+                SELECT id, check_in_time, check_out_time FROM attendances
+                WHERE user_id = ? AND date = ? FOR UPDATE
+            ), closed AS (
+                UPDATE attendances a
+                SET check_out_time = CAST(? AS TIMESTAMP),
+                    total_hours = GREATEST((FLOOR(EXTRACT(EPOCH FROM (CAST(? AS TIMESTAMP) - t.check_in_time)) / 60)
+                                            - CAST(? AS DOUBLE PRECISION)) / 60.0, 0.0),
+                    updated_at = CAST(? AS TIMESTAMP)
+                FROM target t
+                WHERE a.id = t.id AND a.date = ? AND t.check_in_time IS NOT NULL AND t.check_out_time IS NULL
+                RETURNING a.id, a.status, a.total_hours, a.late_approved
+            )
+            SELECT t.id, t.check_in_time, t.check_out_time, c.id IS NOT NULL AS closed, c.status, c.total_hours, c.late_approved
+            FROM target t LEFT JOIN closed c ON c.id = t.id
+            """;
+
+    private static final String LOCK_DAY_ROW = """
+            SELECT id, check_in_time, check_out_time, status, late_approved FROM attendances
+            WHERE user_id = ? AND date = ? FOR UPDATE
+            """;
+
+    private static final String CLOSE_DAY_ROW = """
+            UPDATE attendances SET check_out_time = ?, total_hours = ?, updated_at = ?
+            WHERE id = ? AND date = ? AND check_out_time IS NULL
+            """;
+
+    private static final String APPROVAL_SELECT = """
+            SELECT id, user_id, date, status, late_approved FROM attendances
+            """;
+
+    // The date list restricts the update to the partitions of the locked rows
+    private static final String APPROVE_LATE = """
+            UPDATE attendances SET late_approved = true, approved_by = ?, approved_at = ?, updated_at = ?
+            WHERE late_approved = false AND date IN (%s) AND id IN (%s)
+            """;
+
+    private static final RowMapper<ApprovalRow> APPROVAL_ROW = (rs, rowNum) -> new ApprovalRow(
+            rs.getObject("id", UUID.class),
+            rs.getObject("user_id", UUID.class),
+            rs.getObject("date", LocalDate.class),
+            AttendanceStatus.valueOf(rs.getString("status")),
+            rs.getBoolean("late_approved"));
+
+    private static final String FIND_DAY_ENTRIES = """
+            SELECT id, user_id, check_in_time, check_out_time, status, total_hours, late_approved
+            FROM attendances WHERE date = ?
+            """;
+
+    private static final String EXPORT_SELECT = """
+            SELECT a.id, u.employee_id, u.name, d.name AS department_name, a.date, a.status,
+                   a.check_in_time, a.check_out_time, a.total_hours, a.late_approved
+            FROM attendances a
+            JOIN users u ON u.id = a.user_id
+            JOIN departments d ON d.id = u.department_id
+            """;
+
+    private static final String EXPORT_BOUNDARIES = """
+            SELECT b.date, b.id FROM (
+                SELECT a.date, a.id, ROW_NUMBER() OVER (ORDER BY a.date, a.id) AS rn
+                FROM attendances a
+                JOIN users u ON u.id = a.user_id
+            """;
+
+    public enum CheckOutOutcome {CHECKED_OUT, NO_CHECK_IN, ALREADY_CHECKED_OUT}
+
+    public record CheckOutResult(CheckOutOutcome outcome,
+                                 UUID attendanceId,
+                                 LocalDateTime checkInTime,
+                                 AttendanceStatus status,
+                                 double totalHours,
+                                 boolean lateApproved) {
+    }
+
+    public record ApprovalRow(UUID id, UUID userId, LocalDate date, AttendanceStatus status, boolean lateApproved) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean postgres;
+
+    // Anti-join: next chunk of users (ordered by id, after the given id) with no row for the date,
+    // optionally restricted to one department
+    public List<UUID> findUsersWithoutAttendance(LocalDate date, UUID departmentId, UUID afterUserId, int limit) {
+        List<Object> params = new ArrayList<>();
+        params.add(date);
+
+        StringBuilder sql = new StringBuilder(FIND_USERS_WITHOUT_ATTENDANCE);
+        if (departmentId != null) {
+            sql.append(" AND u.department_id = ?");
+            params.add(departmentId);
+        }
+        if (afterUserId != null) {
+            sql.append(" AND u.id > ?");
+            params.add(afterUserId);
+        }
+        sql.append(" ORDER BY u.id LIMIT ?");
+        params.add(limit);
+
+        return jdbcTemplate.query(sql.toString(),
+                (rs, rowNum) -> rs.getObject("id", UUID.class),
+                params.toArray());
+    }
+
+    // Forward-only cursor over a company-wide date range (optionally one keyset chunk);
+    // rows are handed to the callback one at a time. PostgreSQL only honours the fetch
+    // size inside a transaction (autocommit off).
+    public void streamForExport(ExportCriteria criteria, int fetchSize, RowCallbackHandler handler) {
+        List<Object> params = new ArrayList<>();
+        String sql = EXPORT_SELECT + exportWhere(criteria, params) + " ORDER BY a.date, a.id";
+
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            return ps;
+        }, handler);
+    }
+
+    // Every chunkSize-th key of the export range, found in one pass over the date index;
+    // consecutive boundaries delimit chunks that can be exported independently
+    public List<AttendanceCursor> findExportBoundaries(ExportCriteria criteria, int chunkSize) {
+        List<Object> params = new ArrayList<>();
+        String sql = EXPORT_BOUNDARIES + exportWhere(criteria, params) + ") b WHERE MOD(b.rn, ?) = 0 ORDER BY b.rn";
+        params.add(chunkSize);
+
+        return jdbcTemplate.query(sql,
+                (rs, rowNum) -> new AttendanceCursor(rs.getObject("date", LocalDate.class), rs.getObject("id", UUID.class)),
+                params.toArray());
+    }
+
+    private static String exportWhere(ExportCriteria criteria, List<Object> params) {
+        StringBuilder where = new StringBuilder(" WHERE a.date BETWEEN ? AND ?");
+        params.add(criteria.getStartDate());
+        params.add(criteria.getEndDate());
+
+        if (criteria.getDepartmentId() != null) {
+            where.append(" AND u.department_id = ?");
+            params.add(criteria.getDepartmentId());
+        }
+        if (criteria.getStatus() != null) {
+            where.append(" AND a.status = ?");
+            params.add(criteria.getStatus().name());
+        }
+        if (criteria.getAfter() != null) {
+            where.append(" AND (a.date, a.id) > (?, ?)");
+            params.add(criteria.getAfter().getDate());
+            params.add(criteria.getAfter().getId());
+        }
+        if (criteria.getUntil() != null) {
+            where.append(" AND (a.date, a.id) <= (?, ?)");
+            params.add(criteria.getUntil().getDate());
+            params.add(criteria.getUntil().getId());
+        }
+        return where.toString();
+    }
+
+    // Single-round-trip check-in; false when the user already has a row for the date
+    public boolean insertCheckIn(UUID id, UUID userId, LocalDate date, LocalDateTime checkInTime, String status) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Timestamp checkIn = Timestamp.valueOf(checkInTime);
+
+        if (isPostgres()) {
+            return jdbcTemplate.update(INSERT_CHECK_IN_ON_CONFLICT,
+                    id, userId, date, checkIn, status, now, now) == 1;
+        }
+        try {
+            return jdbcTemplate.update(INSERT_CHECK_IN_IF_ABSENT,
+                    id, userId, date, checkIn, status, now, now, userId, date) == 1;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    // Closes the user's row for the date unless there is none, it has no check-in, or it is
+    // already closed; one round trip on PostgreSQL, a locked read plus update elsewhere
+    public CheckOutResult checkOut(UUID userId, LocalDate date, LocalDateTime checkOutTime, double breakMinutes) {
+        Timestamp checkOut = Timestamp.valueOf(checkOutTime);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        if (isPostgres()) {
+            List<CheckOutResult> rows = jdbcTemplate.query(CHECK_OUT_RETURNING, (rs, rowNum) -> {
+                UUID id = rs.getObject("id", UUID.class);
+                LocalDateTime checkIn = toLocalDateTime(rs.getTimestamp("check_in_time"));
+                if (rs.getBoolean("closed")) {
+                    return new CheckOutResult(CheckOutOutcome.CHECKED_OUT, id, checkIn,
+                            AttendanceStatus.valueOf(rs.getString("status")), rs.getDouble("total_hours"), rs.getBoolean("late_approved"));
+                }
+                return new CheckOutResult(checkIn == null ? CheckOutOutcome.NO_CHECK_IN : CheckOutOutcome.ALREADY_CHECKED_OUT,
+                        id, checkIn, null, 0.0, false);
+            }, userId, date, checkOut, checkOut, breakMinutes, now, date);
+            return rows.isEmpty() ? new CheckOutResult(CheckOutOutcome.NO_CHECK_IN, null, null, null, 0.0, false) : rows.get(0);
+        }
+
+        // Portable fallback (H2): must run inside the caller's transaction to hold the lock
+        List<CheckOutResult> rows = jdbcTemplate.query(LOCK_DAY_ROW, (rs, rowNum) -> {
+            UUID id = rs.getObject("id", UUID.class);
+            LocalDateTime checkIn = toLocalDateTime(rs.getTimestamp("check_in_time"));
+            if (checkIn == null) {
+                return new CheckOutResult(CheckOutOutcome.NO_CHECK_IN, id, null, null, 0.0, false);
+            }
+            if (rs.getTimestamp("check_out_time") != null) {
+                return new CheckOutResult(CheckOutOutcome.ALREADY_CHECKED_OUT, id, checkIn, null, 0.0, false);
+            }
+            return new CheckOutResult(CheckOutOutcome.CHECKED_OUT, id, checkIn,
+                    AttendanceStatus.valueOf(rs.getString("status")), hoursWorked(checkIn, checkOutTime, breakMinutes),
+                    rs.getBoolean("late_approved"));
+        }, userId, date);
+        if (rows.isEmpty()) {
+            return new CheckOutResult(CheckOutOutcome.NO_CHECK_IN, null, null, null, 0.0, false);
+        }
+
+        CheckOutResult result = rows.get(0);
+        if (result.outcome() == CheckOutOutcome.CHECKED_OUT
+                && jdbcTemplate.update(CLOSE_DAY_ROW, checkOut, result.totalHours(), now, result.attendanceId(), date) == 0) {
+            return new CheckOutResult(CheckOutOutcome.ALREADY_CHECKED_OUT, result.attendanceId(), result.checkInTime(), null, 0.0, false);
+        }
+        return result;
+    }
+
+    // Same formula as CHECK_OUT_RETURNING: whole minutes worked, minus the break, never negative
+    private static double hoursWorked(LocalDateTime checkIn, LocalDateTime checkOut, double breakMinutes) {
+        return Math.max((ChronoUnit.MINUTES.between(checkIn, checkOut) - breakMinutes) / 60.0, 0.0);
+    }
+
+    // Batched check-ins (id, user, date, checkInTime, status); existing (user_id, date) rows are
+    // skipped. Returns the ids actually inserted.
+    public Set<UUID> insertCheckIns(List<Attendance> checkIns) {
+        if (checkIns.isEmpty()) {
+            return Set.of();
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        boolean onConflict = isPostgres();
+        List<Object[]> batch = new ArrayList<>(checkIns.size());
+        for (Attendance a : checkIns) {
+            UUID userId = a.getUser().getId();
+            Timestamp checkIn = Timestamp.valueOf(a.getCheckInTime());
+            batch.add(onConflict
+                    ? new Object[]{a.getId(), userId, a.getDate(), checkIn, a.getStatus().name(), now, now}
+                    : new Object[]{a.getId(), userId, a.getDate(), checkIn, a.getStatus().name(), now, now, userId, a.getDate()});
+        }
+
+        return writtenIds(jdbcTemplate.batchUpdate(onConflict ? INSERT_CHECK_IN_ON_CONFLICT : INSERT_CHECK_IN_IF_ABSENT, batch),
+                checkIns, "created_at", now);
+    }
+
+    // Batched check-outs by attendance id; rows already checked out are left untouched.
+    // Returns the ids actually closed.
+    public Set<UUID> updateCheckOuts(List<Attendance> checkOuts) {
+        if (checkOuts.isEmpty()) {
+            return Set.of();
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(checkOuts.size());
+        for (Attendance a : checkOuts) {
+            batch.add(new Object[]{Timestamp.valueOf(a.getCheckOutTime()), a.getTotalHours(), a.getStatus().name(), now,
+                    a.getId(), a.getDate()});
+        }
+
+        return writtenIds(jdbcTemplate.batchUpdate(UPDATE_CHECK_OUT, batch), checkOuts, "updated_at", now);
+    }
+
+    // Locks the existing rows of the given users on one day (caller's transaction) and streams
+    // them to the callback (id, user_id, check_in_time, check_out_time, status, late_approved)
+    public void lockDayRows(LocalDate date, List<UUID> userIds, RowCallbackHandler handler) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        List<Object> params = new ArrayList<>(userIds.size() + 1);
+        params.add(date);
+        params.addAll(userIds);
+        jdbcTemplate.query(LOCK_DAY_ROWS.formatted(placeholders(userIds.size())), handler, params.toArray());
+    }
+
+    // Batched inserts of complete rows (check-in, optional check-out, status, hours);
+    // existing (user_id, date) rows are skipped
+    public int insertScanned(List<Attendance> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        boolean onConflict = isPostgres();
+        List<Object[]> batch = new ArrayList<>(rows.size());
+        for (Attendance a : rows) {
+            UUID userId = a.getUser().getId();
+            Object[] values = {a.getId(), userId, a.getDate(), Timestamp.valueOf(a.getCheckInTime()),
+                    toTimestamp(a.getCheckOutTime()), a.getStatus().name(), a.getTotalHours(), now, now};
+            batch.add(onConflict ? values : append(values, userId, a.getDate()));
+        }
+
+        return insertedCount(jdbcTemplate.batchUpdate(onConflict ? INSERT_SCANNED_ON_CONFLICT : INSERT_SCANNED_IF_ABSENT, batch),
+                rows.stream().map(Attendance::getId).toList(), null);
+    }
+
+    // Batched overwrites of check-in/check-out/status/hours by (id, date)
+    public int updateScanned(List<Attendance> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(rows.size());
+        for (Attendance a : rows) {
+            batch.add(new Object[]{toTimestamp(a.getCheckInTime()), toTimestamp(a.getCheckOutTime()),
+                    a.getStatus().name(), a.getTotalHours(), now, a.getId(), a.getDate()});
+        }
+
+        return writtenIds(jdbcTemplate.batchUpdate(UPDATE_SCANNED, batch), rows, "updated_at", now).size();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime time) {
+        return time != null ? Timestamp.valueOf(time) : null;
+    }
+
+    static Object[] append(Object[] values, Object... more) {
+        Object[] all = Arrays.copyOf(values, values.length + more.length);
+        System.arraycopy(more, 0, all, values.length, more.length);
+        return all;
+    }
+
+    // Locks the given attendances (caller's transaction); ids that do not exist are simply absent.
+    // Ids alone probe every monthly partition; a known date narrows the lookup to one.
+    public List<ApprovalRow> lockForApproval(List<UUID> attendanceIds, LocalDate date) {
+        if (attendanceIds.isEmpty()) {
+            return List.of();
+        }
+
+        List<Object> params = new ArrayList<>(attendanceIds.size() + 1);
+        StringBuilder sql = new StringBuilder(APPROVAL_SELECT).append(" WHERE");
+        if (date != null) {
+            sql.append(" date = ? AND");
+            params.add(date);
+        }
+        sql.append(" id IN (").append(placeholders(attendanceIds.size())).append(") FOR UPDATE");
+        params.addAll(attendanceIds);
+        return jdbcTemplate.query(sql.toString(), APPROVAL_ROW, params.toArray());
+    }
+
+    // Next keyset chunk (by id) of unapproved rows of a date and status, optionally one department, locked
+    public List<ApprovalRow> lockUnapproved(LocalDate date, AttendanceStatus status, UUID departmentId,
+                                            UUID afterId, int limit) {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(APPROVAL_SELECT)
+                .append(" WHERE date = ? AND status = ? AND late_approved = false AND id > ?");
+        params.add(date);
+        params.add(status.name());
+        params.add(afterId);
+        if (departmentId != null) {
+            sql.append(" AND user_id IN (SELECT u.id FROM users u WHERE u.department_id = ?)");
+            params.add(departmentId);
+        }
+        sql.append(" ORDER BY id LIMIT ? FOR UPDATE");
+        params.add(limit);
+
+        return jdbcTemplate.query(sql.toString(), APPROVAL_ROW, params.toArray());
+    }
+
+    // One statement for the whole chunk; rows approved meanwhile are left as they are
+    public int approveLate(List<ApprovalRow> rows, UUID approvedBy, LocalDateTime approvedAt) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp at = Timestamp.valueOf(approvedAt);
+        List<LocalDate> dates = rows.stream().map(ApprovalRow::date).distinct().toList();
+        List<Object> params = new ArrayList<>(dates.size() + rows.size() + 3);
+        params.add(approvedBy);
+        params.add(at);
+        params.add(at);
+        params.addAll(dates);
+        rows.forEach(row -> params.add(row.id()));
+        return jdbcTemplate.update(APPROVE_LATE.formatted(placeholders(dates.size()), placeholders(rows.size())),
+                params.toArray());
+    }
+
+    static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    // All rows of one day, streamed to the callback
+    // (id, user_id, check_in_time, check_out_time, status, total_hours, late_approved)
+    public void findDayEntries(LocalDate date, RowCallbackHandler handler) {
+        jdbcTemplate.query(FIND_DAY_ENTRIES, handler, date);
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+            result = product != null && product.toLowerCase(Locale.ROOT).contains("postgres");
+            postgres = result;
+        }
+        return result;
+    }
+
+    // Batched ABSENT inserts (user id -> new attendance id); rows that gained an attendance
+    // in the meantime are skipped
+    public int insertAbsentRecords(Map<UUID, UUID> attendanceIdsByUser, LocalDate date) {
+        if (attendanceIdsByUser.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(attendanceIdsByUser.size());
+        attendanceIdsByUser.forEach((userId, attendanceId) ->
+                batch.add(new Object[]{attendanceId, userId, date, now, now, userId, date}));
+
+        return insertedCount(jdbcTemplate.batchUpdate(INSERT_ABSENT, batch), attendanceIdsByUser.values(), date);
+    }
+
+    // Per-row counts when the driver reports them. Rewritten batches (reWriteBatchedInserts) only
+    // report SUCCESS_NO_INFO (-2), which says nothing about rows skipped by the guard, so the
+    // freshly generated ids are counted instead (same transaction, so the new rows are visible)
+    private int insertedCount(int[] counts, Collection<UUID> ids, LocalDate date) {
+        int inserted = 0;
+        for (int count : counts) {
+            if (count < 0) {
+                return countIds(ids, date);
+            }
+            inserted += count;
+        }
+        return inserted;
+    }
+
+    // Same idea for batches whose rows must be told apart: per-row counts when reported,
+    // otherwise the rows stamped (created_at/updated_at) with this batch's timestamp. Ids are
+    // not enough here, as replayed events reuse the ids of rows an earlier run already wrote.
+    private Set<UUID> writtenIds(int[] counts, List<Attendance> rows, String stampColumn, Timestamp stamp) {
+        Set<UUID> written = new HashSet<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] < 0) {
+                return findStampedIds(rows, stampColumn, stamp);
+            }
+            if (counts[i] > 0) {
+                written.add(rows.get(i).getId());
+            }
+        }
+        return written;
+    }
+
+    private Set<UUID> findStampedIds(List<Attendance> rows, String stampColumn, Timestamp stamp) {
+        List<LocalDate> dates = rows.stream().map(Attendance::getDate).distinct().toList();
+        List<Object> params = new ArrayList<>(dates.size() + rows.size() + 1);
+        params.addAll(dates);
+        params.add(stamp);
+        rows.forEach(a -> params.add(a.getId()));
+        return new HashSet<>(jdbcTemplate.queryForList(
+                FIND_STAMPED_IDS.formatted(placeholders(dates.size()), stampColumn, placeholders(rows.size())),
+                UUID.class, params.toArray()));
+    }
+
+    private int countIds(Collection<UUID> ids, LocalDate date) {
+        List<Object> params = new ArrayList<>(ids.size() + 1);
+        if (date != null) {
+            params.add(date);
+        }
+        params.addAll(ids);
+        Integer count = jdbcTemplate.queryForObject(
+                (date != null ? COUNT_IDS_ON_DATE : COUNT_IDS).formatted(placeholders(ids.size())),
+                Integer.class, params.toArray());
+        return count != null ? count : 0;
+    }
+}
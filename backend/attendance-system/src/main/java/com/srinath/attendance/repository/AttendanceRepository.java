@@ -2,14 +2,20 @@ package com.srinath.attendance.repository;
 
 import com.srinath.attendance.entity.Attendance;
 import com.srinath.attendance.entity.AttendanceStatus;
+import com.srinath.attendance.repository.projection.DailyAttendanceView;
+import com.srinath.attendance.repository.projection.StatusAggregate;
+import com.srinath.attendance.repository.projection.TodayStatusView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -25,6 +31,24 @@ public interface AttendanceRepository extends JpaRepository<Attendance, UUID> {
             Pageable pageable
     );
     long countByUserIdAndDateBetween(UUID userId, LocalDate start, LocalDate end);
+    long countByDate(LocalDate date);
+
+    // Keyset pages: seek past the last row seen instead of skipping OFFSET rows, no COUNT.
+    // A day in id order, served by the (date, id) prefix; status is optional.
+    @Query("SELECT a FROM Attendance a WHERE a.date = :date AND (:status IS NULL OR a.status = :status) " +
+            "AND a.id > :afterId ORDER BY a.id")
+    List<Attendance> findByDateAfterId(@Param("date") LocalDate date,
+                                       @Param("status") AttendanceStatus status,
+                                       @Param("afterId") UUID afterId,
+                                       Limit limit);
+
+    // One user's days in date order, served by uk_user_date (user_id, date)
+    @Query("SELECT a FROM Attendance a WHERE a.user.id = :userId AND a.date > :afterDate AND a.date <= :endDate " +
+            "ORDER BY a.date")
+    List<Attendance> findByUserIdAfterDate(@Param("userId") UUID userId,
+                                           @Param("afterDate") LocalDate afterDate,
+                                           @Param("endDate") LocalDate endDate,
+                                           Limit limit);
     boolean existsByUserIdAndDate(UUID userId, LocalDate date);
 
     // Additional methods for filtering and reporting
@@ -61,7 +85,56 @@ public interface AttendanceRepository extends JpaRepository<Attendance, UUID> {
             @Param("endDate") LocalDate endDate
     );
 
+    // Employee columns joined in the same statement (no lazy User/Department loads)
+    @Query("SELECT u.id AS userId, u.name AS name, u.employeeId AS employeeId, d.name AS departmentName, " +
+            "a.checkInTime AS checkInTime, a.status AS status " +
+            "FROM Attendance a JOIN a.user u LEFT JOIN u.department d " +
+            "WHERE a.date = :date ORDER BY u.name, u.id")
+    List<TodayStatusView> findStatusViewsByDate(@Param("date") LocalDate date);
+
+    // One status of a day, page by page; a Slice skips the COUNT query
+    @Query("SELECT u.id AS userId, u.name AS name, u.employeeId AS employeeId, d.name AS departmentName, " +
+            "a.checkInTime AS checkInTime, a.status AS status " +
+            "FROM Attendance a JOIN a.user u LEFT JOIN u.department d " +
+            "WHERE a.date = :date AND a.status = :status ORDER BY u.name, u.id")
+    Slice<TodayStatusView> findStatusViewsByDateAndStatus(@Param("date") LocalDate date,
+                                                          @Param("status") AttendanceStatus status,
+                                                          Pageable pageable);
+
     // Count methods for summary statistics
     @Query("SELECT COUNT(a) FROM Attendance a WHERE a.status = :status AND a.date = :date")
     long countByStatusAndDate(@Param("status") AttendanceStatus status, @Param("date") LocalDate date);
+
+    // Aggregations: constant-size GROUP BY results instead of entity lists
+    @Query("SELECT a.status AS status, COUNT(a) AS count, COALESCE(SUM(a.totalHours), 0.0) AS totalHours " +
+            "FROM Attendance a WHERE a.user.id = :userId AND a.date BETWEEN :startDate AND :endDate GROUP BY a.status")
+    List<StatusAggregate> aggregateByStatusForUser(
+            @Param("userId") UUID userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    @Query("SELECT a.status AS status, COUNT(a) AS count, COALESCE(SUM(a.totalHours), 0.0) AS totalHours " +
+            "FROM Attendance a WHERE a.date = :date GROUP BY a.status")
+    List<StatusAggregate> aggregateByStatusForDate(@Param("date") LocalDate date);
+
+    // Every status of one day in one statement (the grouped aggregate); statuses without rows map to 0
+    default EnumMap<AttendanceStatus, Long> countByStatusForDate(LocalDate date) {
+        EnumMap<AttendanceStatus, Long> counts = new EnumMap<>(AttendanceStatus.class);
+        for (AttendanceStatus status : AttendanceStatus.values()) {
+            counts.put(status, 0L);
+        }
+        for (StatusAggregate row : aggregateByStatusForDate(date)) {
+            counts.put(row.getStatus(), row.getCount());
+        }
+        return counts;
+    }
+
+    @Query("SELECT a.date AS date, a.status AS status, a.totalHours AS totalHours " +
+            "FROM Attendance a WHERE a.user.id = :userId AND a.date BETWEEN :startDate AND :endDate ORDER BY a.date")
+    List<DailyAttendanceView> findDailyViewsByUserIdAndDateBetween(
+            @Param("userId") UUID userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
 }
@@ -0,0 +1,91 @@
+package com.srinath.attendance.repository;
+
+import com.srinath.attendance.entity.AttendanceStatus;
+import com.srinath.attendance.entity.DailyAttendanceRollup;
+import com.srinath.attendance.repository.projection.DailyStatusAggregate;
+import com.srinath.attendance.repository.projection.DepartmentStatusAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface DailyAttendanceRollupRepository extends JpaRepository<DailyAttendanceRollup, DailyAttendanceRollup.Key> {
+
+    // Incremental maintenance of one slot row: department is resolved from the user inside the same statement
+    @Modifying
+    @Query("UPDATE DailyAttendanceRollup r SET r.attendanceCount = r.attendanceCount + :count, " +
+            "r.totalHours = r.totalHours + :hours, r.lateApprovedCount = r.lateApprovedCount + :lateApproved " +
+            "WHERE r.id.date = :date AND r.id.status = :status AND r.id.slot = :slot " +
+            "AND r.id.departmentId = (SELECT u.department.id FROM User u WHERE u.id = :userId)")
+    int incrementForUser(@Param("date") LocalDate date,
+                         @Param("userId") UUID userId,
+                         @Param("status") AttendanceStatus status,
+                         @Param("slot") short slot,
+                         @Param("count") long count,
+                         @Param("hours") double hours,
+                         @Param("lateApproved") long lateApproved);
+
+    // Slot 0 takes the exact totals, the other slots are reset
+    String REFRESH_FROM_ATTENDANCES = """
+            UPDATE daily_attendance_rollup r SET
+                attendance_count = CASE WHEN r.slot <> 0 THEN 0 ELSE
+                                   (SELECT COUNT(*) FROM attendances a JOIN users u ON u.id = a.user_id
+                                    WHERE a.date = r.date AND u.department_id = r.department_id AND a.status = r.status) END,
+                total_hours = CASE WHEN r.slot <> 0 THEN 0.0 ELSE
+                              (SELECT COALESCE(SUM(a.total_hours), 0.0) FROM attendances a JOIN users u ON u.id = a.user_id
+                               WHERE a.date = r.date AND u.department_id = r.department_id AND a.status = r.status) END,
+                late_approved_count = CASE WHEN r.slot <> 0 THEN 0 ELSE
+                                      (SELECT COUNT(*) FROM attendances a JOIN users u ON u.id = a.user_id
+                                       WHERE a.date = r.date AND u.department_id = r.department_id AND a.status = r.status
+                                       AND a.late_approved = true) END
+            """;
+
+    // Exact recomputation of one day from attendances
+    @Modifying
+    @Query(value = REFRESH_FROM_ATTENDANCES + " WHERE r.date = :date", nativeQuery = true)
+    int refresh(@Param("date") LocalDate date);
+
+    @Modifying
+    @Query(value = REFRESH_FROM_ATTENDANCES + " WHERE r.date = :date AND r.department_id = :departmentId", nativeQuery = true)
+    int refresh(@Param("date") LocalDate date, @Param("departmentId") UUID departmentId);
+
+    // Slots 0..slots-1; safe inside a caller's transaction, a concurrent insert is simply skipped
+    @Modifying
+    @Query(value = """
+            INSERT INTO daily_attendance_rollup (date, department_id, status, slot, attendance_count, total_hours, late_approved_count)
+            SELECT :date, :departmentId, :status, s, 0, 0.0, 0 FROM generate_series(0, :slots - 1) s
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int insertEmptySlots(@Param("date") LocalDate date,
+                         @Param("departmentId") UUID departmentId,
+                         @Param("status") String status,
+                         @Param("slots") int slots);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO daily_attendance_rollup (date, department_id, status, slot, attendance_count, total_hours, late_approved_count)
+            SELECT :date, u.department_id, :status, s, 0, 0.0, 0 FROM users u CROSS JOIN generate_series(0, :slots - 1) s
+            WHERE u.id = :userId
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int insertEmptySlotsForUser(@Param("date") LocalDate date,
+                                @Param("userId") UUID userId,
+                                @Param("status") String status,
+                                @Param("slots") int slots);
+
+    @Query("SELECT r.id.date AS date, r.id.status AS status, SUM(r.attendanceCount) AS count " +
+            "FROM DailyAttendanceRollup r WHERE r.id.date BETWEEN :startDate AND :endDate " +
+            "GROUP BY r.id.date, r.id.status")
+    List<DailyStatusAggregate> sumByDateAndStatus(@Param("startDate") LocalDate startDate,
+                                                  @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT d.id AS departmentId, d.name AS departmentName, r.id.status AS status, " +
+            "SUM(r.attendanceCount) AS count, SUM(r.totalHours) AS totalHours " +
+            "FROM DailyAttendanceRollup r, Department d WHERE d.id = r.id.departmentId AND r.id.date = :date " +
+            "GROUP BY d.id, d.name, r.id.status")
+    List<DepartmentStatusAggregate> findByDate(@Param("date") LocalDate date);
+}
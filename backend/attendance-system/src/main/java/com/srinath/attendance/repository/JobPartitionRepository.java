@@ -0,0 +1,70 @@
+package com.srinath.attendance.repository;
+
+import com.srinath.attendance.entity.JobPartition;
+import com.srinath.attendance.entity.JobPartitionStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface JobPartitionRepository extends JpaRepository<JobPartition, UUID> {
+
+    long countByJobNameAndRunDate(String jobName, LocalDate runDate);
+
+    // Pending partitions, running ones whose owner stopped renewing its claim, and failed ones
+    // that still have attempts left
+    @Query("SELECT p.id FROM JobPartition p WHERE p.jobName = :jobName AND p.runDate = :runDate " +
+            "AND (p.status = com.srinath.attendance.entity.JobPartitionStatus.PENDING " +
+            "OR (p.status = com.srinath.attendance.entity.JobPartitionStatus.RUNNING AND p.claimedUntil < :now) " +
+            "OR (p.status = com.srinath.attendance.entity.JobPartitionStatus.FAILED AND p.attempts < :maxAttempts)) " +
+            "ORDER BY p.partitionKey")
+    List<UUID> findClaimable(@Param("jobName") String jobName,
+                             @Param("runDate") LocalDate runDate,
+                             @Param("now") LocalDateTime now,
+                             @Param("maxAttempts") int maxAttempts);
+
+    // Compare-and-set claim; only one node can flip a given partition to RUNNING
+    @Modifying
+    @Query("UPDATE JobPartition p SET p.status = com.srinath.attendance.entity.JobPartitionStatus.RUNNING, " +
+            "p.owner = :owner, p.claimedUntil = :claimedUntil, p.attempts = p.attempts + 1 WHERE p.id = :id " +
+            "AND (p.status = com.srinath.attendance.entity.JobPartitionStatus.PENDING " +
+            "OR (p.status = com.srinath.attendance.entity.JobPartitionStatus.RUNNING AND p.claimedUntil < :now) " +
+            "OR (p.status = com.srinath.attendance.entity.JobPartitionStatus.FAILED AND p.attempts < :maxAttempts))")
+    int tryClaim(@Param("id") UUID id,
+                 @Param("owner") String owner,
+                 @Param("now") LocalDateTime now,
+                 @Param("claimedUntil") LocalDateTime claimedUntil,
+                 @Param("maxAttempts") int maxAttempts);
+
+    // Heartbeat: extends a claim only while this node still owns the running partition
+    @Modifying
+    @Query("UPDATE JobPartition p SET p.claimedUntil = :claimedUntil WHERE p.id = :id AND p.owner = :owner " +
+            "AND p.status = com.srinath.attendance.entity.JobPartitionStatus.RUNNING")
+    int renew(@Param("id") UUID id,
+              @Param("owner") String owner,
+              @Param("claimedUntil") LocalDateTime claimedUntil);
+
+    // Partitions that can still be (re)claimed or are being processed
+    @Query("SELECT COUNT(p) FROM JobPartition p WHERE p.jobName = :jobName AND p.runDate = :runDate " +
+            "AND (p.status IN (com.srinath.attendance.entity.JobPartitionStatus.PENDING, " +
+            "com.srinath.attendance.entity.JobPartitionStatus.RUNNING) " +
+            "OR (p.status = com.srinath.attendance.entity.JobPartitionStatus.FAILED AND p.attempts < :maxAttempts))")
+    long countOpen(@Param("jobName") String jobName,
+                   @Param("runDate") LocalDate runDate,
+                   @Param("maxAttempts") int maxAttempts);
+
+    // Only the current owner of a running partition can finish it
+    @Modifying
+    @Query("UPDATE JobPartition p SET p.status = :status, p.completedAt = :now, p.rowsProcessed = :rows " +
+            "WHERE p.id = :id AND p.owner = :owner AND p.status = com.srinath.attendance.entity.JobPartitionStatus.RUNNING")
+    int complete(@Param("id") UUID id,
+                 @Param("owner") String owner,
+                 @Param("status") JobPartitionStatus status,
+                 @Param("rows") int rows,
+                 @Param("now") LocalDateTime now);
+}
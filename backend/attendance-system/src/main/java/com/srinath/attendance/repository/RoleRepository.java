@@ -2,11 +2,16 @@ package com.srinath.attendance.repository;
 
 import com.srinath.attendance.entity.Role;
 import com.srinath.attendance.entity.RoleType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 import java.util.UUID;
 
+// Roles are second-level cached; lookups by name go through the query cache
 public interface RoleRepository extends JpaRepository<Role, UUID> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Role> findByName(RoleType name);
 }
@@ -0,0 +1,167 @@
+package com.srinath.attendance.repository;
+
+import com.srinath.attendance.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+// Set-based user writes for bulk onboarding; single users still go through UserRepository
+@Repository
+@RequiredArgsConstructor
+public class UserJdbcRepository {
+
+    // PostgreSQL: the whole email set is bound as one array parameter
+    private static final String FIND_EMAILS_ANY = "SELECT email FROM users WHERE email = ANY (?)";
+
+    private static final String FIND_EMAILS_IN = "SELECT email FROM users WHERE email IN (%s)";
+
+    // Portable fallback (H2): IN lists are kept to a bounded size
+    private static final int IN_LIST_SIZE = 1000;
+
+    private static final String COUNT_IDS = "SELECT COUNT(*) FROM users WHERE id IN (%s)";
+
+    private static final String INSERT_USER = """
+            INSERT INTO users (id, name, email, password, employee_id, role_id, department_id, enabled, token_version, created_at, updated_at)
+            """;
+
+    // PostgreSQL: rows hitting the email or employee-id unique constraint are skipped
+    private static final String INSERT_USER_ON_CONFLICT = INSERT_USER + """
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?)
+            ON CONFLICT DO NOTHING
+            """;
+
+    // Portable fallback (H2): guarded insert on the email
+    private static final String INSERT_USER_IF_ABSENT = INSERT_USER + """
+            SELECT ?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?
+            WHERE NOT EXISTS (SELECT 1 FROM users u WHERE u.email = ?)
+            """;
+
+    private static final String FIND_SECURITY_STATE =
+            "SELECT email, password, enabled, role_id, department_id FROM users WHERE id = ?";
+
+    // Atomic: concurrent bumps never collapse into one
+    private static final String BUMP_TOKEN_VERSION =
+            "UPDATE users SET token_version = token_version + 1, updated_at = ? WHERE id = ?";
+
+    private static final String FIND_TOKEN_VERSION = "SELECT token_version FROM users WHERE id = ?";
+
+    private static final String INSERT_REVOCATION = "INSERT INTO user_revocations (user_id, revoked_at) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean postgres;
+
+    // Which of the given (normalized) emails are already registered
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        Set<String> existing = new HashSet<>();
+        if (emails.isEmpty()) {
+            return existing;
+        }
+
+        if (isPostgres()) {
+            jdbcTemplate.query(FIND_EMAILS_ANY, ps -> {
+                Array array = ps.getConnection().createArrayOf("varchar", emails.toArray());
+                ps.setArray(1, array);
+            }, rs -> {
+                existing.add(rs.getString(1));
+            });
+            return existing;
+        }
+
+        List<String> list = new ArrayList<>(emails);
+        for (int from = 0; from < list.size(); from += IN_LIST_SIZE) {
+            List<String> chunk = list.subList(from, Math.min(from + IN_LIST_SIZE, list.size()));
+            existing.addAll(jdbcTemplate.queryForList(
+                    FIND_EMAILS_IN.formatted(AttendanceJdbcRepository.placeholders(chunk.size())),
+                    String.class, chunk.toArray()));
+        }
+        return existing;
+    }
+
+    // Batched inserts of fully built users (id, hashed password, role and department set);
+    // returns how many were written, the rest lost a race on email or employee id
+    public int insertUsers(List<User> users) {
+        if (users.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        boolean onConflict = isPostgres();
+        List<Object[]> batch = new ArrayList<>(users.size());
+        for (User u : users) {
+            Object[] values = {u.getId(), u.getName(), u.getEmail(), u.getPassword(), u.getEmployeeId(),
+                    u.getRole().getId(), u.getDepartment().getId(), u.isEnabled(), now, now};
+            batch.add(onConflict ? values : AttendanceJdbcRepository.append(values, u.getEmail()));
+        }
+
+        int inserted = 0;
+        for (int count : jdbcTemplate.batchUpdate(onConflict ? INSERT_USER_ON_CONFLICT : INSERT_USER_IF_ABSENT, batch)) {
+            if (count < 0) {
+                // Rewritten batch (SUCCESS_NO_INFO): count the new ids that made it in
+                return countIds(users.stream().map(User::getId).toList());
+            }
+            inserted += count;
+        }
+        return inserted;
+    }
+
+    // The columns a stateless token depends on, as currently stored (pending JPA changes unflushed)
+    public record SecurityState(String email, String password, boolean enabled, UUID roleId, UUID departmentId) {
+
+        public static SecurityState of(User user) {
+            return new SecurityState(user.getEmail(), user.getPassword(), user.isEnabled(), user.getRole().getId(),
+                    user.getDepartment() != null ? user.getDepartment().getId() : null);
+        }
+    }
+
+    public Optional<SecurityState> findSecurityState(UUID userId) {
+        return jdbcTemplate.query(FIND_SECURITY_STATE,
+                (rs, rowNum) -> new SecurityState(rs.getString("email"), rs.getString("password"),
+                        rs.getBoolean("enabled"), rs.getObject("role_id", UUID.class),
+                        rs.getObject("department_id", UUID.class)),
+                userId).stream().findFirst();
+    }
+
+    // Revokes every token issued so far for the user; returns the new version. The read sees
+    // the updated row, which stays locked until the surrounding transaction ends.
+    public int bumpTokenVersion(UUID userId) {
+        jdbcTemplate.update(BUMP_TOKEN_VERSION, Timestamp.valueOf(LocalDateTime.now()), userId);
+        Integer version = jdbcTemplate.queryForObject(FIND_TOKEN_VERSION, Integer.class, userId);
+        return version != null ? version : 0;
+    }
+
+    // Persists a deleted user's revocation so other nodes pick it up on their next refresh
+    public void recordRevocation(UUID userId) {
+        jdbcTemplate.update(INSERT_REVOCATION, userId, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private int countIds(List<UUID> ids) {
+        Integer count = jdbcTemplate.queryForObject(
+                COUNT_IDS.formatted(AttendanceJdbcRepository.placeholders(ids.size())), Integer.class, ids.toArray());
+        return count != null ? count : 0;
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+            result = product != null && product.toLowerCase(Locale.ROOT).contains("postgres");
+            postgres = result;
+        }
+        return result;
+    }
+}
@@ -1,10 +1,17 @@
 package com.srinath.attendance.repository;
 
 import com.srinath.attendance.entity.User;
+import com.srinath.attendance.repository.projection.AbsentEmployeeView;
+import com.srinath.attendance.repository.projection.DepartmentHeadcount;
+import com.srinath.attendance.repository.projection.EmployeeKeyView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,9 +23,30 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     @Query("SELECT u FROM User u WHERE u.department.id = :departmentId")
     List<User> findByDepartmentId(@Param("departmentId") UUID departmentId);
 
+    // Batched employee-id resolution (callers keep the IN list to a bounded chunk)
+    @Query("SELECT u.id AS id, u.employeeId AS employeeId FROM User u WHERE u.employeeId IN :employeeIds")
+    List<EmployeeKeyView> findKeysByEmployeeIdIn(@Param("employeeIds") Collection<String> employeeIds);
+
     @Query("SELECT u FROM User u WHERE u.role.name = 'MANAGER'")
     List<User> findAllManagers();
 
     @Query("SELECT u FROM User u WHERE u.role.name = 'EMPLOYEE'")
     List<User> findAllEmployees();
+
+    @Query("SELECT d.id AS departmentId, d.name AS departmentName, COUNT(u) AS count " +
+            "FROM User u JOIN u.department d WHERE u.role.name = 'EMPLOYEE' GROUP BY d.id, d.name")
+    List<DepartmentHeadcount> countEmployeesByDepartment();
+
+    @Query("SELECT COUNT(u) FROM User u WHERE u.role.name = 'EMPLOYEE'")
+    long countEmployees();
+
+    // Anti-join: employees with no attendance for the date, or only an ABSENT marker
+    @Query(value = "SELECT u.name AS name, u.employeeId AS employeeId, d.name AS departmentName, u.email AS email " +
+            "FROM User u JOIN u.department d WHERE u.role.name = 'EMPLOYEE' AND NOT EXISTS (" +
+            "SELECT 1 FROM Attendance a WHERE a.user = u AND a.date = :date " +
+            "AND a.status <> com.srinath.attendance.entity.AttendanceStatus.ABSENT) ORDER BY u.name, u.id",
+            countQuery = "SELECT COUNT(u) FROM User u WHERE u.role.name = 'EMPLOYEE' AND NOT EXISTS (" +
+                    "SELECT 1 FROM Attendance a WHERE a.user = u AND a.date = :date " +
+                    "AND a.status <> com.srinath.attendance.entity.AttendanceStatus.ABSENT)")
+    Page<AbsentEmployeeView> findEmployeesWithoutAttendance(@Param("date") LocalDate date, Pageable pageable);
 }
@@ -0,0 +1,8 @@
+package com.srinath.attendance.repository.projection;
+
+public interface AbsentEmployeeView {
+    String getName();
+    String getEmployeeId();
+    String getDepartmentName();
+    String getEmail();
+}
@@ -0,0 +1,12 @@
+package com.srinath.attendance.repository.projection;
+
+import com.srinath.attendance.entity.AttendanceStatus;
+
+import java.time.LocalDate;
+
+// Scalar per-day view of a user's attendance, no entity or proxies
+public interface DailyAttendanceView {
+    LocalDate getDate();
+    AttendanceStatus getStatus();
+    double getTotalHours();
+}
@@ -0,0 +1,12 @@
+package com.srinath.attendance.repository.projection;
+
+import com.srinath.attendance.entity.AttendanceStatus;
+
+import java.time.LocalDate;
+
+// One GROUP BY date, status row
+public interface DailyStatusAggregate {
+    LocalDate getDate();
+    AttendanceStatus getStatus();
+    long getCount();
+}
@@ -0,0 +1,9 @@
+package com.srinath.attendance.repository.projection;
+
+import java.util.UUID;
+
+public interface DepartmentHeadcount {
+    UUID getDepartmentId();
+    String getDepartmentName();
+    long getCount();
+}
@@ -0,0 +1,14 @@
+package com.srinath.attendance.repository.projection;
+
+import com.srinath.attendance.entity.AttendanceStatus;
+
+import java.util.UUID;
+
+// One GROUP BY department, status row
+public interface DepartmentStatusAggregate {
+    UUID getDepartmentId();
+    String getDepartmentName();
+    AttendanceStatus getStatus();
+    long getCount();
+    double getTotalHours();
+}
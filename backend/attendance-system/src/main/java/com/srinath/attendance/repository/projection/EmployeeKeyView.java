@@ -0,0 +1,8 @@
+package com.srinath.attendance.repository.projection;
+
+import java.util.UUID;
+
+public interface EmployeeKeyView {
+    UUID getId();
+    String getEmployeeId();
+}
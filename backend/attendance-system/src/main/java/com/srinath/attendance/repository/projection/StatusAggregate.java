@@ -0,0 +1,10 @@
+package com.srinath.attendance.repository.projection;
+
+import com.srinath.attendance.entity.AttendanceStatus;
+
+// One GROUP BY status row: how many attendances and how many hours
+public interface StatusAggregate {
+    AttendanceStatus getStatus();
+    long getCount();
+    double getTotalHours();
+}
@@ -0,0 +1,16 @@
+package com.srinath.attendance.repository.projection;
+
+import com.srinath.attendance.entity.AttendanceStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// One attendance row of a day with the employee columns the today-status view shows
+public interface TodayStatusView {
+    UUID getUserId();
+    String getName();
+    String getEmployeeId();
+    String getDepartmentName();
+    LocalDateTime getCheckInTime();
+    AttendanceStatus getStatus();
+}
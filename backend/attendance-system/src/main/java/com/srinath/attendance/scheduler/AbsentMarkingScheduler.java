@@ -0,0 +1,148 @@
+package com.srinath.attendance.scheduler;
+
+import com.srinath.attendance.dto.summary.AbsentMarkingSummary;
+import com.srinath.attendance.entity.Department;
+import com.srinath.attendance.repository.DepartmentRepository;
+import com.srinath.attendance.service.AbsentMarkingService;
+import com.srinath.attendance.service.JobCoordinationService;
+import com.srinath.attendance.service.JobCoordinationService.ClaimedPartition;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+
+// Cluster-safe absent marking: the lease holder splits the run into department partitions,
+// then every node (coordinator included) claims and processes partitions until none are left.
+// A claim is renewed every third of claim-duration while its partition runs, so a slow
+// department is never taken over by another node; failed partitions are claimed again
+// (on any node) until attendance.scheduler.max-attempts is reached.
+@Component
+@Slf4j
+public class AbsentMarkingScheduler {
+
+    static final String JOB_NAME = "absent-marking";
+
+    private final JobCoordinationService coordination;
+    private final AbsentMarkingService absentMarkingService;
+    private final DepartmentRepository departmentRepository;
+    private final TaskScheduler taskScheduler;
+    private final Duration leaseDuration;
+    private final Duration claimDuration;
+    private final Duration seedWait;
+
+    public AbsentMarkingScheduler(JobCoordinationService coordination,
+                                  AbsentMarkingService absentMarkingService,
+                                  DepartmentRepository departmentRepository,
+                                  TaskScheduler taskScheduler,
+                                  @Value("${attendance.scheduler.lease-duration:10m}") Duration leaseDuration,
+                                  @Value("${attendance.scheduler.claim-duration:5m}") Duration claimDuration,
+                                  @Value("${attendance.scheduler.seed-wait:30s}") Duration seedWait) {
+        this.coordination = coordination;
+        this.absentMarkingService = absentMarkingService;
+        this.departmentRepository = departmentRepository;
+        this.taskScheduler = taskScheduler;
+        this.leaseDuration = leaseDuration;
+        this.claimDuration = claimDuration;
+        this.seedWait = seedWait;
+    }
+
+    // 📅 6 PM on weekdays, fired on every replica
+    @Scheduled(cron = "${attendance.absent-job.cron:0 0 18 * * MON-FRI}")
+    public void markAbsentForToday() {
+        run(LocalDate.now());
+    }
+
+    public int run(LocalDate runDate) {
+        boolean coordinator = coordination.tryAcquireLease(JOB_NAME, leaseDuration);
+        try {
+            if (coordinator) {
+                List<String> keys = departmentRepository.findAll().stream()
+                        .map(Department::getId)
+                        .map(UUID::toString)
+                        .toList();
+                int seeded = coordination.seedPartitions(JOB_NAME, runDate, keys);
+                log.info("Node {} coordinates absent marking for {} ({} partitions seeded)",
+                        coordination.getNodeId(), runDate, seeded);
+            } else if (!awaitPartitions(runDate)) {
+                log.warn("No absent-marking partitions appeared for {} within {}", runDate, seedWait);
+                return 0;
+            }
+
+            return processPartitions(runDate);
+        } finally {
+            if (coordinator) {
+                coordination.releaseLease(JOB_NAME);
+            }
+        }
+    }
+
+    private int processPartitions(LocalDate runDate) {
+        int marked = 0;
+        int partitions = 0;
+
+        Optional<ClaimedPartition> claimed;
+        while ((claimed = coordination.claimNext(JOB_NAME, runDate, claimDuration)).isPresent()) {
+            ClaimedPartition partition = claimed.get();
+            ScheduledFuture<?> heartbeat = taskScheduler.scheduleAtFixedRate(
+                    () -> renew(partition), Instant.now().plus(claimDuration.dividedBy(3)), claimDuration.dividedBy(3));
+            AbsentMarkingSummary summary;
+            try {
+                summary = absentMarkingService.markAbsent(runDate, UUID.fromString(partition.partitionKey()));
+            } catch (RuntimeException e) {
+                log.error("Absent-marking partition {} failed on node {}",
+                        partition.partitionKey(), coordination.getNodeId(), e);
+                coordination.failPartition(partition.id());
+                continue;
+            } finally {
+                heartbeat.cancel(false);
+            }
+
+            if (coordination.completePartition(partition.id(), summary.getUsersMarked())) {
+                marked += summary.getUsersMarked();
+                partitions++;
+            }
+        }
+
+        log.info("Node {} processed {} absent-marking partitions for {} ({} users marked, {} partitions still open)",
+                coordination.getNodeId(), partitions, runDate, marked,
+                coordination.countRemaining(JOB_NAME, runDate));
+        return marked;
+    }
+
+    private void renew(ClaimedPartition partition) {
+        try {
+            if (!coordination.renewClaim(partition.id(), claimDuration)) {
+                log.warn("Node {} lost its claim on absent-marking partition {}",
+                        coordination.getNodeId(), partition.partitionKey());
+            }
+        } catch (RuntimeException e) {
+            // Retried on the next tick; the claim only lapses if every renewal fails
+            log.warn("Renewing absent-marking partition {} failed", partition.partitionKey(), e);
+        }
+    }
+
+    private boolean awaitPartitions(LocalDate runDate) {
+        long deadline = System.nanoTime() + seedWait.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (coordination.hasPartitions(JOB_NAME, runDate)) {
+                return true;
+            }
+            try {
+                Thread.sleep(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return coordination.hasPartitions(JOB_NAME, runDate);
+    }
+}
@@ -0,0 +1,127 @@
+package com.srinath.attendance.scheduler;
+
+import com.srinath.attendance.service.JobCoordinationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+// Keeps the monthly attendance partitions (V11) ahead of the calendar and, when a retention
+// is configured, detaches the expired ones. A detached partition is left as a plain table
+// (attendances_YYYY_MM) to be archived or dropped. No-op on databases without partitioning.
+@Component
+@Slf4j
+public class AttendancePartitionMaintenance {
+
+    static final String JOB_NAME = "attendance-partitions";
+
+    private static final String IS_PARTITIONED = """
+            SELECT COUNT(*) FROM pg_class WHERE relname = 'attendances' AND relkind = 'p'
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JobCoordinationService coordination;
+    private final TransactionTemplate detachTransaction;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final Duration leaseDuration;
+    private final Duration detachLockTimeout;
+
+    private volatile Boolean partitioned;
+
+    public AttendancePartitionMaintenance(JdbcTemplate jdbcTemplate,
+                                          JobCoordinationService coordination,
+                                          PlatformTransactionManager transactionManager,
+                                          @Value("${attendance.partitions.months-ahead:3}") int monthsAhead,
+                                          @Value("${attendance.partitions.retention-months:0}") int retentionMonths,
+                                          @Value("${attendance.partitions.detach-lock-timeout:5s}") Duration detachLockTimeout,
+                                          @Value("${attendance.scheduler.lease-duration:10m}") Duration leaseDuration) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.coordination = coordination;
+        this.detachTransaction = new TransactionTemplate(transactionManager);
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.leaseDuration = leaseDuration;
+        this.detachLockTimeout = detachLockTimeout;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void maintainOnStartup() {
+        maintain();
+    }
+
+    // 🗓️ Daily, so a missed run never leaves the next month without a partition
+    @Scheduled(cron = "${attendance.partitions.cron:0 30 0 * * *}")
+    public void maintain() {
+        if (!isPartitioned()) {
+            return;
+        }
+        if (!coordination.tryAcquireLease(JOB_NAME, leaseDuration)) {
+            return;
+        }
+        try {
+            LocalDate month = LocalDate.now().withDayOfMonth(1);
+            for (int i = 0; i <= monthsAhead; i++) {
+                createPartition(month.plusMonths(i));
+            }
+            if (retentionMonths > 0) {
+                detachBefore(month.minusMonths(retentionMonths));
+            }
+        } catch (RuntimeException e) {
+            log.error("Attendance partition maintenance failed", e);
+        } finally {
+            coordination.releaseLease(JOB_NAME);
+        }
+    }
+
+    private void createPartition(LocalDate month) {
+        String name = jdbcTemplate.queryForObject("SELECT create_attendance_partition(?)", String.class, month);
+        log.debug("Attendance partition {} ready for {}", name, month);
+    }
+
+    // Plain DETACH, since CONCURRENTLY is not allowed while the default partition exists. It takes
+    // an ACCESS EXCLUSIVE lock on attendances, and while it waits for that lock every later
+    // query on the table queues behind it. lock_timeout bounds that stall: a partition that
+    // can't be locked in time is left attached and retried on the next run.
+    private void detachBefore(LocalDate cutoff) {
+        List<String> expired = jdbcTemplate.queryForList(
+                "SELECT attendance_partitions_before(?)", String.class, cutoff);
+        for (String partition : expired) {
+            try {
+                detachTransaction.executeWithoutResult(status -> {
+                    jdbcTemplate.execute("SET LOCAL lock_timeout = " + detachLockTimeout.toMillis());
+                    jdbcTemplate.execute("ALTER TABLE attendances DETACH PARTITION \"" + partition + "\"");
+                });
+            } catch (DataAccessException e) {
+                log.warn("Could not detach attendance partition {} within {}, retrying next run: {}",
+                        partition, detachLockTimeout, e.getMessage());
+                return;
+            }
+            log.info("Detached attendance partition {} (older than {})", partition, cutoff);
+        }
+    }
+
+    private boolean isPartitioned() {
+        Boolean result = partitioned;
+        if (result == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+            result = product != null && product.toLowerCase(Locale.ROOT).contains("postgres")
+                    && jdbcTemplate.queryForObject(IS_PARTITIONED, Long.class) > 0;
+            partitioned = result;
+        }
+        return result;
+    }
+}
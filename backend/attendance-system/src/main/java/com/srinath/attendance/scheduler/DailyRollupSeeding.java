@@ -0,0 +1,38 @@
+package com.srinath.attendance.scheduler;
+
+import com.srinath.attendance.service.AttendanceRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+// Creates today's and tomorrow's rollup rows before any check-in needs them, so the first
+// check-ins of a day never seed rows on the request path. Idempotent on every node.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DailyRollupSeeding {
+
+    private final AttendanceRollupService attendanceRollupService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedOnStartup() {
+        seed();
+    }
+
+    // 🗓️ Ahead of the day rollover
+    @Scheduled(cron = "${attendance.rollup.seed-cron:0 0 23 * * *}")
+    public void seed() {
+        LocalDate today = LocalDate.now();
+        try {
+            attendanceRollupService.seed(today);
+            attendanceRollupService.seed(today.plusDays(1));
+        } catch (RuntimeException e) {
+            log.warn("Seeding rollup rows for {} failed; check-ins will seed them as needed", today, e);
+        }
+    }
+}
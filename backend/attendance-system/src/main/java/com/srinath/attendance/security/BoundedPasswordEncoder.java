@@ -0,0 +1,157 @@
+package com.srinath.attendance.security;
+
+import com.srinath.attendance.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// BCrypt on a dedicated pool sized to the cores, behind a short bounded queue. A login burst
+// then costs at most `threads` cores; request threads only wait, and once the queue is full
+// callers are turned away immediately (429 + Retry-After) instead of piling up.
+@Component
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate = new BCryptPasswordEncoder();
+    private final ThreadPoolExecutor executor;
+    private final Duration retryAfter;
+
+    private final Timer queueMatches;
+    private final Timer computeMatches;
+    private final Timer queueEncode;
+    private final Timer computeEncode;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(ObjectProvider<MeterRegistry> meterRegistry,
+                                  @Value("${security.password-hashing.threads:0}") int threads,
+                                  @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${security.password-hashing.retry-after:1s}") Duration retryAfter) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "password-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.retryAfter = retryAfter;
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            this.queueMatches = timer(registry, "security.password.queue", "matches", "Wait for a password-hashing thread");
+            this.computeMatches = timer(registry, "security.password.compute", "matches", "BCrypt CPU time");
+            this.queueEncode = timer(registry, "security.password.queue", "encode", "Wait for a password-hashing thread");
+            this.computeEncode = timer(registry, "security.password.compute", "encode", "BCrypt CPU time");
+            this.rejected = Counter.builder("security.password.rejected")
+                    .description("Password operations refused because the hashing queue was full")
+                    .register(registry);
+            Gauge.builder("security.password.queue.depth", executor, pool -> pool.getQueue().size())
+                    .description("Password operations waiting for a hashing thread")
+                    .register(registry);
+        } else {
+            this.queueMatches = null;
+            this.computeMatches = null;
+            this.queueEncode = null;
+            this.computeEncode = null;
+            this.rejected = null;
+        }
+        log.info("Password hashing pool: {} threads, queue capacity {}", poolSize, queueCapacity);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword), queueEncode, computeEncode);
+    }
+
+    // Hashes on the calling thread, for bulk work that already runs on its own bounded pool
+    // (onboarding imports), so it does not compete for the login queue
+    public String encodeOnCaller(CharSequence rawPassword) {
+        long started = System.nanoTime();
+        try {
+            return delegate.encode(rawPassword);
+        } finally {
+            if (computeEncode != null) {
+                computeEncode.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword), queueMatches, computeMatches);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Callable<T> work, Timer queueTimer, Timer computeTimer) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long started = System.nanoTime();
+                try {
+                    return work.call();
+                } finally {
+                    if (queueTimer != null) {
+                        queueTimer.record(started - submitted, TimeUnit.NANOSECONDS);
+                        computeTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            if (rejected != null) {
+                rejected.increment();
+            }
+            throw new PasswordHashingBusyException("Too many concurrent logins, please retry", retryAfter);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static Timer timer(MeterRegistry registry, String name, String operation, String description) {
+        return Timer.builder(name)
+                .tag("operation", operation)
+                .description(description)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -1,6 +1,7 @@
 package com.srinath.attendance.security;
 
 
+import com.srinath.attendance.entity.RoleType;
 import com.srinath.attendance.entity.User;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -14,21 +15,52 @@ import java.util.UUID;
 public class CustomUserDetails implements UserDetails {
 
     private final User user;
+    private final UUID userId;
+    private final String email;
+    private final String password;
+    private final RoleType role;
+    private final UUID departmentId;
+    private final int tokenVersion;
+    private final boolean enabled;
 
     public CustomUserDetails(User user) {
         this.user = user;
+        this.userId = user.getId();
+        this.email = user.getEmail();
+        this.password = user.getPassword();
+        this.role = user.getRole().getName();
+        this.departmentId = user.getDepartment() != null ? user.getDepartment().getId() : null;
+        this.tokenVersion = user.getTokenVersion();
+        this.enabled = user.isEnabled();
     }
+
+    // Stateless principal rebuilt from verified token claims; no entity behind it
+    private CustomUserDetails(JwtClaims claims) {
+        this.user = null;
+        this.userId = claims.getUserId();
+        this.email = claims.getSubject();
+        this.password = null;
+        this.role = RoleType.valueOf(claims.getRole());
+        this.departmentId = claims.getDepartmentId();
+        this.tokenVersion = claims.getTokenVersion();
+        this.enabled = true;
+    }
+
+    public static CustomUserDetails fromClaims(JwtClaims claims) {
+        return new CustomUserDetails(claims);
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return List.of(new SimpleGrantedAuthority(user.getRole().getName().name()));
+        return List.of(new SimpleGrantedAuthority(role.name()));
     }
     @Override
     public String getPassword(){
-        return user.getPassword();
+        return password;
     }
     @Override
     public String getUsername(){
-        return user.getEmail();
+        return email;
     }
     @Override
     public boolean isAccountNonExpired(){
@@ -44,14 +76,27 @@ public class CustomUserDetails implements UserDetails {
     }
     @Override
     public boolean isEnabled(){
-        return user.isEnabled();
+        return enabled;
     }
 
+    // Null for stateless principals
     public User getUser(){
         return user;
     }
 
     public UUID getUserId(){
-        return user.getId();
+        return userId;
+    }
+
+    public RoleType getRole(){
+        return role;
+    }
+
+    public UUID getDepartmentId(){
+        return departmentId;
+    }
+
+    public int getTokenVersion(){
+        return tokenVersion;
     }
 }
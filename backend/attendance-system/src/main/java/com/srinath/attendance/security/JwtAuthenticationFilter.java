@@ -1,12 +1,15 @@
 package com.srinath.attendance.security;
 
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -15,10 +18,13 @@ import java.io.IOException;
 
 @Component
 @RequiredArgsConstructor
+@Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final CustomUserDetailsService customUserDetailsService;
+    private final PrincipalCache principalCache;
+    private final TokenVersionRegistry tokenVersionRegistry;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -37,18 +43,55 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // ✅ Extract token
         String token = authHeader.substring(7);
 
-        // ✅ Extract email
-        String email = jwtService.extractEmail(token);
+        // ✅ Verify signature + expiry once; invalid tokens continue unauthenticated
+        JwtClaims claims;
+        try {
+            claims = jwtService.parse(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected JWT: {}", e.getMessage());
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // ✅ Every issued token carries the user id; older tokens must log in again
+        if (claims.getUserId() == null) {
+            log.debug("Rejected JWT without user id claim: {}", claims.getSubject());
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // ✅ Share the parsed claims with controllers (@RequestAttribute)
+        request.setAttribute(JwtClaims.REQUEST_ATTRIBUTE, claims);
+
+        String email = claims.getSubject();
 
         // ✅ Authenticate only if not already authenticated
         if (email != null &&
                 SecurityContextHolder.getContext().getAuthentication() == null) {
 
-            var userDetails =
-                    customUserDetailsService.loadUserByUsername(email);
+            CustomUserDetails userDetails;
+            if (tokenVersionRegistry.isStateless() && claims.getRole() != null) {
+                // ✅ Stateless: principal comes straight from the signed claims, no lookup
+                if (!tokenVersionRegistry.isCurrent(claims.getUserId(), claims.getTokenVersion())) {
+                    log.debug("Revoked JWT for user: {}", claims.getUserId());
+                    filterChain.doFilter(request, response);
+                    return;
+                }
+                userDetails = CustomUserDetails.fromClaims(claims);
+            } else {
+                // ✅ Cached principal; falls back to the DB on a miss
+                try {
+                    userDetails = principalCache.get(email,
+                            key -> (CustomUserDetails) customUserDetailsService.loadUserByUsername(key));
+                } catch (UsernameNotFoundException e) {
+                    log.debug("JWT subject no longer exists: {}", email);
+                    filterChain.doFilter(request, response);
+                    return;
+                }
+            }
 
             // 🔥 IMPORTANT FIX — pass CustomUserDetails as principal
-            if (jwtService.isTokenValid(token, userDetails.getUsername())) {
+            if (userDetails.isEnabled() && email.equals(userDetails.getUsername())) {
 
                 var authToken =
                         new UsernamePasswordAuthenticationToken(
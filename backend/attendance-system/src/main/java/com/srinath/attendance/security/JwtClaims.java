@@ -0,0 +1,24 @@
+package com.srinath.attendance.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Verified token contents, parsed once per request and shared via a request attribute
+@Getter
+@Builder
+@AllArgsConstructor
+public class JwtClaims {
+
+    public static final String REQUEST_ATTRIBUTE = "com.srinath.attendance.security.JwtClaims";
+
+    private final String subject;
+    private final String role;
+    private final UUID userId;
+    private final UUID departmentId;
+    private final int tokenVersion;
+    private final Instant expiresAt;
+}
@@ -1,68 +1,74 @@
 package com.srinath.attendance.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.UUID;
 
 // Responsible for generating and validating JWT tokens
 @Service
 public class JwtService {
 
+    static final String CLAIM_ROLE = "role";
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_DEPARTMENT_ID = "dept";
+    static final String CLAIM_TOKEN_VERSION = "ver";
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes()); //Hash-based Message Authentication Code
+    // Built once; both are immutable and thread-safe
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes()); //Hash-based Message Authentication Code
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
     }
 
-    // 🔐 Generate signed Token (contains subject, role, issuedAt, expiration, signature)
-    public String generateToken(String email, String role) {
+    // 🔐 Generate a self-contained token: enough claims to rebuild the principal without a DB lookup
+    public String generateToken(CustomUserDetails principal) {
 
         return Jwts.builder()
-                .subject(email)
-                .claim("role", role)
+                .subject(principal.getUsername())
+                .claim(CLAIM_ROLE, principal.getRole().name())
+                .claim(CLAIM_USER_ID, principal.getUserId().toString())
+                .claim(CLAIM_DEPARTMENT_ID, principal.getDepartmentId() != null ? principal.getDepartmentId().toString() : null)
+                .claim(CLAIM_TOKEN_VERSION, principal.getTokenVersion())
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSigningKey()) //HMAC + SHA (256-bit signature)
+                .signWith(signingKey)
                 .compact();
     }
 
-    // 🔍 Extract Email from token
-    public String extractEmail(String token) {
-        return extractAllClaims(token).getSubject();
-    }
-
-    // 🔍 Extract Role from token
-    public String extractRole(String token) {
-        return extractAllClaims(token).get("role", String.class);
-    }
-
-    // 🔍 Validate signature + expiration
-    public boolean isTokenValid(String token, String email) {
-        String extractedEmail = extractEmail(token);
-        return extractedEmail.equals(email) && !isTokenExpired(token);
-    }
+    // 🔍 Verify signature + expiration once and return everything callers need.
+    // Throws io.jsonwebtoken.JwtException for tampered, malformed or expired tokens.
+    public JwtClaims parse(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        String userId = claims.get(CLAIM_USER_ID, String.class);
+        String departmentId = claims.get(CLAIM_DEPARTMENT_ID, String.class);
+        Integer tokenVersion = claims.get(CLAIM_TOKEN_VERSION, Integer.class);
 
-    private boolean isTokenExpired(String token) {
-        return extractAllClaims(token)
-                .getExpiration()
-                .before(new Date());
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return JwtClaims.builder()
+                .subject(claims.getSubject())
+                .role(claims.get(CLAIM_ROLE, String.class))
+                .userId(userId != null ? UUID.fromString(userId) : null)
+                .departmentId(departmentId != null ? UUID.fromString(departmentId) : null)
+                .tokenVersion(tokenVersion != null ? tokenVersion : 0)
+                .expiresAt(claims.getExpiration().toInstant())
+                .build();
     }
 }
-
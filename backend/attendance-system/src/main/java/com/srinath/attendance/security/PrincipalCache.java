@@ -0,0 +1,64 @@
+package com.srinath.attendance.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+
+// Bounded, TTL-evicting cache of authenticated principals keyed by email (the JWT subject),
+// so authenticated requests don't re-load the user and role on every call
+@Component
+@Slf4j
+public class PrincipalCache {
+
+    private final Cache<String, CustomUserDetails> cache;
+
+    public PrincipalCache(ObjectProvider<MeterRegistry> meterRegistry,
+                          @Value("${security.principal-cache.max-size:10000}") long maxSize,
+                          @Value("${security.principal-cache.ttl:5m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        // Exposed as cache.gets{result=hit|miss}, cache.evictions and cache.size tagged cache=principals
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, "principals"));
+    }
+
+    public CustomUserDetails get(String email, Function<String, CustomUserDetails> loader) {
+        return cache.get(email, loader);
+    }
+
+    public void evict(String email) {
+        cache.invalidate(email);
+    }
+
+    // Evicts now and again once the surrounding transaction commits, so a concurrent
+    // request can't re-cache the pre-update state in between
+    public void evictUser(UUID userId) {
+        evictNow(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(userId);
+                }
+            });
+        }
+    }
+
+    private void evictNow(UUID userId) {
+        cache.asMap().values().removeIf(principal -> userId.equals(principal.getUserId()));
+        log.debug("Evicted cached principal for user {}", userId);
+    }
+}
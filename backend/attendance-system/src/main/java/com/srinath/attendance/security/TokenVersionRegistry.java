@@ -0,0 +1,116 @@
+package com.srinath.attendance.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Revocation check for stateless tokens. Each refresh only reads users changed since the last
+// one (updated_at watermark), and entries older than the token lifetime are dropped: every
+// token issued before such a change has expired, so the list stays bounded by recent changes.
+// Deleted users have no row left to change, so their deletion is read from user_revocations.
+@Component
+@Slf4j
+public class TokenVersionRegistry {
+
+    private static final String LOAD_CHANGED = """
+            SELECT id, token_version, enabled, updated_at FROM users
+            WHERE updated_at >= ?
+            UNION ALL
+            SELECT user_id, 2147483647, FALSE, revoked_at FROM user_revocations
+            WHERE revoked_at >= ?
+            """;
+
+    private static final String PRUNE_REVOCATIONS = "DELETE FROM user_revocations WHERE revoked_at < ?";
+
+    // Re-read window for rows whose transaction committed after a later-stamped one was seen
+    private static final Duration WATERMARK_OVERLAP = Duration.ofMinutes(1);
+
+    private record Revocation(int minVersion, boolean disabled, LocalDateTime changedAt) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean stateless;
+    private final Duration tokenLifetime;
+
+    private volatile Map<UUID, Revocation> revocations = Map.of();
+    private LocalDateTime watermark;
+
+    // Local revocations since the last refresh (covers deleted users until their tokens expire)
+    private final Map<UUID, Revocation> pending = new ConcurrentHashMap<>();
+
+    public TokenVersionRegistry(JdbcTemplate jdbcTemplate,
+                                @Value("${jwt.stateless.enabled:false}") boolean stateless,
+                                @Value("${jwt.expiration}") long tokenLifetimeMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.stateless = stateless;
+        this.tokenLifetime = Duration.ofMillis(tokenLifetimeMs);
+    }
+
+    public boolean isStateless() {
+        return stateless;
+    }
+
+    public boolean isCurrent(UUID userId, int tokenVersion) {
+        Revocation revocation = revocations.get(userId);
+        if (revocation != null && revocation.disabled()) {
+            return false;
+        }
+        int min = Math.max(revocation != null ? revocation.minVersion() : 0, minVersion(pending.get(userId)));
+        return tokenVersion >= min;
+    }
+
+    // Applies a revocation on this node immediately; other nodes see it on their next refresh
+    public void revoke(UUID userId, int minVersion) {
+        pending.merge(userId, new Revocation(minVersion, false, LocalDateTime.now()),
+                (current, next) -> next.minVersion() > current.minVersion() ? next : current);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.stateless.revocation-refresh-ms:30000}")
+    public synchronized void refresh() {
+        if (!stateless) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime horizon = now.minus(tokenLifetime);
+        // First load: anything changed earlier can only have revoked tokens that have since expired
+        LocalDateTime since = watermark != null ? watermark.minus(WATERMARK_OVERLAP) : horizon;
+
+        Map<UUID, Revocation> updated = new HashMap<>(revocations);
+        LocalDateTime[] latest = {watermark != null ? watermark : horizon};
+        int[] changed = {0};
+        jdbcTemplate.query(LOAD_CHANGED, rs -> {
+            UUID id = rs.getObject("id", UUID.class);
+            LocalDateTime changedAt = rs.getTimestamp("updated_at").toLocalDateTime();
+            updated.put(id, new Revocation(rs.getInt("token_version"), !rs.getBoolean("enabled"), changedAt));
+            if (changedAt.isAfter(latest[0])) {
+                latest[0] = changedAt;
+            }
+            changed[0]++;
+        }, Timestamp.valueOf(since), Timestamp.valueOf(since));
+        jdbcTemplate.update(PRUNE_REVOCATIONS, Timestamp.valueOf(horizon));
+
+        updated.values().removeIf(r -> r.changedAt().isBefore(horizon));
+        revocations = updated;
+        watermark = latest[0];
+
+        // Keep local revocations the DB doesn't reflect yet (or at all, for deleted users)
+        pending.entrySet().removeIf(e -> e.getValue().changedAt().isBefore(horizon)
+                || minVersion(updated.get(e.getKey())) >= e.getValue().minVersion());
+        log.debug("Token revocation list refreshed: {} changed rows read, {} tracked", changed[0], updated.size());
+    }
+
+    private static int minVersion(Revocation revocation) {
+        return revocation != null ? revocation.minVersion() : 0;
+    }
+}
@@ -0,0 +1,13 @@
+package com.srinath.attendance.service;
+
+import com.srinath.attendance.dto.summary.AbsentMarkingSummary;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public interface AbsentMarkingService {
+
+    AbsentMarkingSummary markAbsent(LocalDate date);
+
+    AbsentMarkingSummary markAbsent(LocalDate date, UUID departmentId);
+}
@@ -0,0 +1,14 @@
+package com.srinath.attendance.service;
+
+import com.srinath.attendance.dto.request.ExportCriteria;
+import com.srinath.attendance.dto.response.ExportChunkResponse;
+
+import java.io.OutputStream;
+import java.util.List;
+
+public interface AttendanceExportService {
+
+    long exportCsv(ExportCriteria criteria, boolean includeHeader, OutputStream out);
+
+    List<ExportChunkResponse> planChunks(ExportCriteria criteria, int chunkSize);
+}
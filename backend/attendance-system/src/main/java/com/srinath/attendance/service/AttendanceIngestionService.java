@@ -0,0 +1,16 @@
+package com.srinath.attendance.service;
+
+import com.srinath.attendance.entity.Attendance;
+
+import java.util.UUID;
+
+// Entry point for check-in/check-out: queued write-behind when attendance.ingestion.enabled,
+// otherwise a direct transactional write through AttendanceService
+public interface AttendanceIngestionService {
+
+    Attendance checkIn(UUID userId);
+
+    Attendance checkOut(UUID userId);
+
+    int queueDepth();
+}
@@ -0,0 +1,19 @@
+package com.srinath.attendance.service;
+
+import com.srinath.attendance.entity.AttendanceStatus;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public interface AttendanceRollupService {
+
+    void recordCheckIn(LocalDate date, UUID userId, AttendanceStatus status);
+
+    void recordCheckOut(LocalDate date, UUID userId, AttendanceStatus status, double hoursWorked);
+
+    void recordLateApproval(LocalDate date, UUID userId, AttendanceStatus status);
+
+    void refresh(LocalDate date, UUID departmentId);
+
+    void seed(LocalDate date);
+}
@@ -1,5 +1,6 @@
 package com.srinath.attendance.service;
 
+import com.srinath.attendance.dto.response.CursorPage;
 import com.srinath.attendance.dto.response.TeamSummaryResponse;
 import com.srinath.attendance.dto.response.TodayStatusResponse;
 import com.srinath.attendance.entity.Attendance;
@@ -7,6 +8,7 @@ import com.srinath.attendance.entity.AttendanceStatus;
 import com.srinath.attendance.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -27,6 +29,12 @@ public interface AttendanceService {
 
     Page<Attendance> getAllAttendanceByDate(LocalDate date, Pageable pageable);
 
+    CursorPage<Attendance> scrollAttendanceByDate(LocalDate date, AttendanceStatus status, String cursor,
+                                                  int size, boolean includeTotal);
+
+    CursorPage<Attendance> scrollAttendanceHistory(UUID userId, LocalDate startDate, LocalDate endDate, String cursor,
+                                                   int size, boolean includeTotal);
+
     Page<Attendance> filterAttendance(UUID userId, LocalDate startDate, LocalDate endDate, AttendanceStatus status, Pageable pageable);
 
     Attendance approveLate(UUID attendanceId, UUID approvedBy);
@@ -39,4 +47,6 @@ public interface AttendanceService {
     TeamSummaryResponse getTeamSummary(LocalDate date);
 
     TodayStatusResponse getTodayStatus();
+
+    Slice<TodayStatusResponse.EmployeeInfo> getTodayStatus(AttendanceStatus status, Pageable pageable);
 }
@@ -0,0 +1,14 @@
+package com.srinath.attendance.service;
+
+import com.srinath.attendance.dto.summary.BadgeScanImportSummary;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface BadgeScanImportService {
+
+    enum Format {CSV, NDJSON}
+
+    // Reads the body line by line; malformed lines are reported, never fatal
+    BadgeScanImportSummary importScans(InputStream body, Format format) throws IOException;
+}
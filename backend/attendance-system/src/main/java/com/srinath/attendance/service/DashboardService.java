@@ -3,7 +3,10 @@ package com.srinath.attendance.service;
 import com.srinath.attendance.dto.response.EmployeeDashboardResponse;
 import com.srinath.attendance.dto.response.ManagerDashboardResponse;
 import com.srinath.attendance.dto.response.MonthlyAttendanceSummaryDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.UUID;
 
@@ -11,4 +14,5 @@ public interface DashboardService {
     EmployeeDashboardResponse getEmployeeDashboard(UUID userId);
     ManagerDashboardResponse getManagerDashboard();
     MonthlyAttendanceSummaryDTO getMonthlyAttendanceSummary(UUID userId, YearMonth yearMonth);
+    Page<ManagerDashboardResponse.AbsentEmployeeDTO> getAbsentEmployees(LocalDate date, Pageable pageable);
 }
@@ -0,0 +1,35 @@
+package com.srinath.attendance.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface JobCoordinationService {
+
+    String getNodeId();
+
+    boolean tryAcquireLease(String jobName, Duration leaseDuration);
+
+    void releaseLease(String jobName);
+
+    int seedPartitions(String jobName, LocalDate runDate, Collection<String> partitionKeys);
+
+    boolean hasPartitions(String jobName, LocalDate runDate);
+
+    Optional<ClaimedPartition> claimNext(String jobName, LocalDate runDate, Duration claimDuration);
+
+    // False once the claim expired and another node took the partition over
+    boolean renewClaim(UUID partitionId, Duration claimDuration);
+
+    // Both return false when this node no longer owns the partition
+    boolean completePartition(UUID partitionId, int rowsProcessed);
+
+    boolean failPartition(UUID partitionId);
+
+    long countRemaining(String jobName, LocalDate runDate);
+
+    record ClaimedPartition(UUID id, String partitionKey) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.srinath.attendance.service;
+
+import com.srinath.attendance.dto.request.BulkLateApprovalRequest;
+import com.srinath.attendance.dto.response.BulkLateApprovalResponse;
+
+import java.util.UUID;
+
+public interface LateApprovalService {
+
+    BulkLateApprovalResponse approveLate(BulkLateApprovalRequest request, UUID approvedBy);
+}
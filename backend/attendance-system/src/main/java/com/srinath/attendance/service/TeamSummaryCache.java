@@ -0,0 +1,44 @@
+package com.srinath.attendance.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.srinath.attendance.dto.response.TeamSummaryResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.function.Function;
+
+// Team summaries of past dates, which stop changing once the absent job has run.
+// Today is never cached; a re-run of the absent job for a past date evicts that date.
+@Component
+public class TeamSummaryCache {
+
+    private final Cache<LocalDate, TeamSummaryResponse> cache;
+
+    public TeamSummaryCache(ObjectProvider<MeterRegistry> meterRegistry,
+                            @Value("${attendance.team-summary-cache.max-size:400}") long maxSize,
+                            @Value("${attendance.team-summary-cache.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, "team-summaries"));
+    }
+
+    public TeamSummaryResponse get(LocalDate date, Function<LocalDate, TeamSummaryResponse> loader) {
+        if (!date.isBefore(LocalDate.now())) {
+            return loader.apply(date);
+        }
+        return cache.get(date, loader);
+    }
+
+    public void evict(LocalDate date) {
+        cache.invalidate(date);
+    }
+}
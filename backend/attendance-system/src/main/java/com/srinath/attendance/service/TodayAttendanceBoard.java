@@ -0,0 +1,35 @@
+package com.srinath.attendance.service;
+
+import com.srinath.attendance.board.DayAttendanceIndex;
+import com.srinath.attendance.entity.AttendanceStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+// In-memory attendance of the current day, kept current by the attendance writes.
+// record* calls for other dates, or while the board is disabled, are ignored.
+public interface TodayAttendanceBoard {
+
+    boolean isEnabled();
+
+    DayAttendanceIndex today();
+
+    Optional<DayAttendanceIndex.Entry> findToday(UUID userId);
+
+    EnumMap<AttendanceStatus, Long> countTodayByStatus();
+
+    void recordCheckIn(LocalDate date, UUID userId, UUID attendanceId, LocalDateTime checkInTime, AttendanceStatus status);
+
+    void recordCheckOut(LocalDate date, UUID userId, LocalDateTime checkOutTime, double totalHours, AttendanceStatus status);
+
+    void recordLateApproval(LocalDate date, UUID userId);
+
+    void recordAbsent(LocalDate date, Map<UUID, UUID> attendanceIdsByUser);
+
+    // Compares the board's per-status counts with the database; reloads on a mismatch
+    boolean verify();
+}
@@ -0,0 +1,14 @@
+package com.srinath.attendance.service;
+
+import com.srinath.attendance.dto.summary.UserImportSummary;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface UserImportService {
+
+    enum Format {CSV, NDJSON}
+
+    // Validates every row first; the file is imported only when no row has an error
+    UserImportSummary importUsers(InputStream body, Format format) throws IOException;
+}
@@ -0,0 +1,121 @@
+package com.srinath.attendance.service.impl;
+
+import com.srinath.attendance.dto.summary.AbsentMarkingSummary;
+import com.srinath.attendance.repository.AttendanceJdbcRepository;
+import com.srinath.attendance.service.AbsentMarkingService;
+import com.srinath.attendance.service.AttendanceRollupService;
+import com.srinath.attendance.service.TeamSummaryCache;
+import com.srinath.attendance.service.TodayAttendanceBoard;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// Set-based absent marking: anti-join chunks, each inserted in its own short transaction
+@Service
+@Slf4j
+public class AbsentMarkingServiceImpl implements AbsentMarkingService {
+
+    private final AttendanceJdbcRepository attendanceJdbcRepository;
+    private final AttendanceRollupService attendanceRollupService;
+    private final TodayAttendanceBoard todayAttendanceBoard;
+    private final TeamSummaryCache teamSummaryCache;
+    private final TransactionTemplate chunkTransaction;
+    private final int chunkSize;
+
+    public AbsentMarkingServiceImpl(AttendanceJdbcRepository attendanceJdbcRepository,
+                                    AttendanceRollupService attendanceRollupService,
+                                    TodayAttendanceBoard todayAttendanceBoard,
+                                    TeamSummaryCache teamSummaryCache,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${attendance.absent-job.chunk-size:1000}") int chunkSize) {
+        this.attendanceJdbcRepository = attendanceJdbcRepository;
+        this.attendanceRollupService = attendanceRollupService;
+        this.todayAttendanceBoard = todayAttendanceBoard;
+        this.teamSummaryCache = teamSummaryCache;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public AbsentMarkingSummary markAbsent(LocalDate date) {
+        return markAbsent(date, null);
+    }
+
+    @Override
+    public AbsentMarkingSummary markAbsent(LocalDate date, UUID departmentId) {
+        log.info("Marking absent users for {} (department {}) in chunks of {}",
+                date, departmentId != null ? departmentId : "all", chunkSize);
+        long start = System.nanoTime();
+
+        int marked = 0;
+        int chunks = 0;
+        UUID lastUserId = null;
+
+        while (true) {
+            List<UUID> userIds = attendanceJdbcRepository.findUsersWithoutAttendance(date, departmentId, lastUserId, chunkSize);
+            if (userIds.isEmpty()) {
+                break;
+            }
+
+            // Each chunk commits on its own, so a crash only loses the chunk in flight;
+            // a rerun picks up from the anti-join because committed users no longer match.
+            marked += insertChunk(userIds, date);
+            chunks++;
+            lastUserId = userIds.get(userIds.size() - 1);
+            log.debug("Absent chunk {} committed ({} users so far)", chunks, marked);
+
+            if (userIds.size() < chunkSize) {
+                break;
+            }
+        }
+
+        if (marked > 0) {
+            attendanceRollupService.refresh(date, departmentId);
+            teamSummaryCache.evict(date);
+        }
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        double rowsPerSecond = elapsedMillis > 0 ? marked * 1000.0 / elapsedMillis : marked;
+        log.info("Marked {} users absent for {} in {} chunks, {} ms ({} rows/sec)",
+                marked, date, chunks, elapsedMillis, String.format("%.1f", rowsPerSecond));
+
+        return AbsentMarkingSummary.builder()
+                .date(date)
+                .usersMarked(marked)
+                .chunks(chunks)
+                .elapsedMillis(elapsedMillis)
+                .rowsPerSecond(rowsPerSecond)
+                .build();
+    }
+
+    private int insertChunk(List<UUID> userIds, LocalDate date) {
+        Map<UUID, UUID> attendanceIds = new LinkedHashMap<>();
+        userIds.forEach(userId -> attendanceIds.put(userId, UUID.randomUUID()));
+
+        try {
+            return chunkTransaction.execute(status -> insertAbsent(attendanceIds, date));
+        } catch (DuplicateKeyException e) {
+            // A check-in raced the insert; retry once so the NOT EXISTS guard skips it
+            log.warn("Absent chunk for {} hit a concurrent check-in, retrying", date);
+            return chunkTransaction.execute(status -> insertAbsent(attendanceIds, date));
+        }
+    }
+
+    private int insertAbsent(Map<UUID, UUID> attendanceIds, LocalDate date) {
+        int inserted = attendanceJdbcRepository.insertAbsentRecords(attendanceIds, date);
+        // Same "only if no entry yet" rule as the NOT EXISTS guard; applied after commit
+        todayAttendanceBoard.recordAbsent(date, attendanceIds);
+        return inserted;
+    }
+}
@@ -0,0 +1,140 @@
+package com.srinath.attendance.service.impl;
+
+import com.srinath.attendance.dto.request.ExportCriteria;
+import com.srinath.attendance.dto.response.ExportChunkResponse;
+import com.srinath.attendance.repository.AttendanceCursor;
+import com.srinath.attendance.repository.AttendanceJdbcRepository;
+import com.srinath.attendance.service.AttendanceExportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Writes CSV rows straight from a JDBC cursor to the response stream; memory use is constant
+@Service
+@Slf4j
+public class AttendanceExportServiceImpl implements AttendanceExportService {
+
+    private static final String HEADER =
+            "Employee ID,Employee Name,Department,Date,Status,Check In,Check Out,Total Hours,Late Approved\n";
+
+    private final AttendanceJdbcRepository attendanceJdbcRepository;
+    private final int fetchSize;
+
+    public AttendanceExportServiceImpl(AttendanceJdbcRepository attendanceJdbcRepository,
+                                       @Value("${attendance.export.fetch-size:1000}") int fetchSize) {
+        this.attendanceJdbcRepository = attendanceJdbcRepository;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportCsv(ExportCriteria criteria, boolean includeHeader, OutputStream out) {
+        long start = System.nanoTime();
+        long[] rows = {0};
+
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            if (includeHeader) {
+                writer.write(HEADER);
+            }
+
+            attendanceJdbcRepository.streamForExport(criteria, fetchSize, rs -> {
+                writeRow(writer, rs);
+                rows[0]++;
+            });
+
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        long elapsedMillis = Math.max((System.nanoTime() - start) / 1_000_000, 1);
+        log.info("Exported {} attendance rows ({} to {}) in {} ms ({} rows/sec)",
+                rows[0], criteria.getStartDate(), criteria.getEndDate(), elapsedMillis, rows[0] * 1000 / elapsedMillis);
+        return rows[0];
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ExportChunkResponse> planChunks(ExportCriteria criteria, int chunkSize) {
+        List<AttendanceCursor> boundaries = attendanceJdbcRepository.findExportBoundaries(criteria, chunkSize);
+
+        List<ExportChunkResponse> chunks = new ArrayList<>(boundaries.size() + 1);
+        AttendanceCursor after = criteria.getAfter();
+        for (AttendanceCursor until : boundaries) {
+            chunks.add(chunk(after, until));
+            after = until;
+        }
+        // Tail chunk: everything after the last boundary (empty when the range divides evenly)
+        chunks.add(chunk(after, criteria.getUntil()));
+
+        log.info("Planned {} export chunks of up to {} rows for {} to {}",
+                chunks.size(), chunkSize, criteria.getStartDate(), criteria.getEndDate());
+        return chunks;
+    }
+
+    private static ExportChunkResponse chunk(AttendanceCursor after, AttendanceCursor until) {
+        return ExportChunkResponse.builder()
+                .after(after != null ? after.encode() : null)
+                .until(until != null ? until.encode() : null)
+                .build();
+    }
+
+    private void writeRow(Writer writer, ResultSet rs) throws SQLException {
+        try {
+            writeField(writer, rs.getString("employee_id"));
+            writer.write(',');
+            writeField(writer, rs.getString("name"));
+            writer.write(',');
+            writeField(writer, rs.getString("department_name"));
+            writer.write(',');
+            writeField(writer, rs.getObject("date", LocalDate.class).toString());
+            writer.write(',');
+            writeField(writer, rs.getString("status"));
+            writer.write(',');
+            writeField(writer, timestamp(rs.getTimestamp("check_in_time")));
+            writer.write(',');
+            writeField(writer, timestamp(rs.getTimestamp("check_out_time")));
+            writer.write(',');
+            writeField(writer, Double.toString(rs.getDouble("total_hours")));
+            writer.write(',');
+            writeField(writer, rs.getBoolean("late_approved") ? "Yes" : "No");
+            writer.write('\n');
+        } catch (IOException e) {
+            // Client went away; abort the cursor instead of reading the rest of the range
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String timestamp(Timestamp value) {
+        return value != null ? value.toLocalDateTime().toString() : "";
+    }
+
+    // Quoted field with embedded quotes doubled (RFC 4180)
+    private static void writeField(Writer writer, String value) throws IOException {
+        writer.write('"');
+        if (value != null) {
+            if (value.indexOf('"') >= 0) {
+                writer.write(value.replace("\"", "\"\""));
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write('"');
+    }
+}
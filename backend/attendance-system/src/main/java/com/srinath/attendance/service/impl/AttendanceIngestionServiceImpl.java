@@ -0,0 +1,437 @@
+package com.srinath.attendance.service.impl;
+
+import com.srinath.attendance.board.DayAttendanceIndex;
+import com.srinath.attendance.entity.Attendance;
+import com.srinath.attendance.entity.AttendanceStatus;
+import com.srinath.attendance.entity.User;
+import com.srinath.attendance.exception.IngestionBackpressureException;
+import com.srinath.attendance.exception.InvalidAttendanceStateException;
+import com.srinath.attendance.ingestion.AttendanceEvent;
+import com.srinath.attendance.ingestion.AttendanceEventLog;
+import com.srinath.attendance.repository.AttendanceJdbcRepository;
+import com.srinath.attendance.service.AttendanceIngestionService;
+import com.srinath.attendance.service.AttendanceRollupService;
+import com.srinath.attendance.service.AttendanceService;
+import com.srinath.attendance.service.TodayAttendanceBoard;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Write-behind check-in/check-out: requests are validated against today's attendance board,
+// appended to the local event log and a bounded queue, and acknowledged; a single writer
+// thread group-commits the queue to attendances. Single-node only: the board is per process.
+@Service
+@Slf4j
+public class AttendanceIngestionServiceImpl implements AttendanceIngestionService {
+
+    private final AttendanceService attendanceService;
+    private final AttendanceJdbcRepository attendanceJdbcRepository;
+    private final AttendanceRollupService attendanceRollupService;
+    private final TodayAttendanceBoard todayAttendanceBoard;
+    private final TransactionTemplate flushTransaction;
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration retryAfter;
+    private final Path logPath;
+    private final boolean fsync;
+
+    private final Object submitLock = new Object();
+    private BlockingQueue<AttendanceEvent> queue;
+    private AttendanceEventLog eventLog;
+    private long sequence;
+    private volatile boolean running;
+    private Thread writer;
+
+    private Timer flushTimer;
+    private Counter rejected;
+
+    public AttendanceIngestionServiceImpl(AttendanceService attendanceService,
+                                          AttendanceJdbcRepository attendanceJdbcRepository,
+                                          AttendanceRollupService attendanceRollupService,
+                                          TodayAttendanceBoard todayAttendanceBoard,
+                                          PlatformTransactionManager transactionManager,
+                                          ObjectProvider<MeterRegistry> meterRegistry,
+                                          @Value("${attendance.ingestion.enabled:false}") boolean enabled,
+                                          @Value("${attendance.ingestion.queue-capacity:10000}") int queueCapacity,
+                                          @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:20}") int batchSize,
+                                          @Value("${attendance.ingestion.flush-interval:200ms}") Duration flushInterval,
+                                          @Value("${attendance.ingestion.retry-after:2s}") Duration retryAfter,
+                                          @Value("${attendance.ingestion.log-path:data/ingestion/events.log}") Path logPath,
+                                          @Value("${attendance.ingestion.fsync:true}") boolean fsync) {
+        this.attendanceService = attendanceService;
+        this.attendanceJdbcRepository = attendanceJdbcRepository;
+        this.attendanceRollupService = attendanceRollupService;
+        this.todayAttendanceBoard = todayAttendanceBoard;
+        this.flushTransaction = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry.getIfAvailable();
+        this.enabled = enabled;
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.retryAfter = retryAfter;
+        this.logPath = logPath;
+        this.fsync = fsync;
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        eventLog = new AttendanceEventLog(logPath, fsync);
+        List<AttendanceEvent> pending = eventLog.recover();
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        sequence = eventLog.lastAppended();
+
+        if (!pending.isEmpty()) {
+            recover(pending);
+        }
+
+        if (meterRegistry != null) {
+            Gauge.builder("attendance.ingestion.queue.depth", queue, BlockingQueue::size)
+                    .description("Accepted check-in/check-out events not yet written")
+                    .register(meterRegistry);
+            flushTimer = Timer.builder("attendance.ingestion.flush")
+                    .description("Group-commit latency of one ingestion batch")
+                    .register(meterRegistry);
+            rejected = Counter.builder("attendance.ingestion.rejected")
+                    .description("Events refused because the ingestion queue was full")
+                    .register(meterRegistry);
+        }
+
+        running = true;
+        writer = new Thread(this::runWriter, "attendance-ingestion-writer");
+        writer.start();
+        log.info("Queued attendance ingestion started (capacity={}, batch={}, interval={})",
+                queueCapacity, batchSize, flushInterval);
+    }
+
+    // Acknowledged but unwritten events from a previous run: write them before taking traffic.
+    // Rollups are recomputed instead of incremented since some may have been written already.
+    private void recover(List<AttendanceEvent> pending) {
+        log.info("Replaying {} unwritten attendance events from {}", pending.size(), logPath);
+        for (int from = 0; from < pending.size(); from += batchSize) {
+            List<AttendanceEvent> batch = pending.subList(from, Math.min(from + batchSize, pending.size()));
+            if (!flush(batch, false)) {
+                throw new IllegalStateException("Could not replay attendance event log " + logPath);
+            }
+        }
+
+        Set<LocalDate> dates = new LinkedHashSet<>();
+        pending.forEach(event -> dates.add(event.date()));
+        dates.forEach(date -> attendanceRollupService.refresh(date, null));
+    }
+
+    @PreDestroy
+    void stop() throws IOException, InterruptedException {
+        if (!enabled || writer == null) {
+            return;
+        }
+        // The writer drains the queue before exiting; anything left stays in the log for replay
+        running = false;
+        writer.join(flushInterval.toMillis() * 10 + 30_000);
+        eventLog.close();
+    }
+
+    @Override
+    public Attendance checkIn(UUID userId) {
+        if (!enabled) {
+            return attendanceService.checkIn(userId);
+        }
+
+        LocalDateTime checkInTime = LocalDateTime.now();
+        LocalDate today = checkInTime.toLocalDate();
+        AttendanceStatus status = AttendanceServiceImpl.determineStatus(checkInTime.toLocalTime());
+
+        DayAttendanceIndex board = todayAttendanceBoard.today();
+        DayAttendanceIndex.Entry entry = new DayAttendanceIndex.Entry(
+                UUID.randomUUID(), status, checkInTime, null, 0.0, false);
+        if (!board.add(userId, entry)) {
+            log.warn("User already checked in today: {}", userId);
+            throw new InvalidAttendanceStateException("Already checked in today");
+        }
+
+        try {
+            submit(AttendanceEvent.Type.CHECK_IN, userId, today, entry);
+        } catch (RuntimeException e) {
+            board.remove(userId, entry.attendanceId());
+            throw e;
+        }
+
+        log.info("User {} checked in at {} with status {} (queued)", userId, checkInTime, status);
+        return toAttendance(today, entry);
+    }
+
+    @Override
+    public Attendance checkOut(UUID userId) {
+        if (!enabled) {
+            return attendanceService.checkOut(userId);
+        }
+
+        LocalDateTime checkOutTime = LocalDateTime.now();
+        LocalDate today = checkOutTime.toLocalDate();
+
+        DayAttendanceIndex board = todayAttendanceBoard.today();
+        DayAttendanceIndex.Entry current = board.get(userId)
+                .filter(entry -> entry.checkInTime() != null)
+                .orElseThrow(() -> {
+                    log.error("No check-in found for check-out: {}", userId);
+                    return new InvalidAttendanceStateException("No check-in found for today");
+                });
+        if (current.checkedOut()) {
+            log.warn("User already checked out today: {}", userId);
+            throw new InvalidAttendanceStateException("Already checked out today");
+        }
+
+        double totalHours = AttendanceServiceImpl.calculateTotalHours(current.checkInTime(), checkOutTime);
+        // Atomic on the board, so two concurrent check-outs can't both succeed
+        if (!board.checkOut(userId, checkOutTime, totalHours, current.status())) {
+            log.warn("User already checked out today: {}", userId);
+            throw new InvalidAttendanceStateException("Already checked out today");
+        }
+        DayAttendanceIndex.Entry updated = new DayAttendanceIndex.Entry(current.attendanceId(), current.status(),
+                current.checkInTime(), checkOutTime, totalHours, current.lateApproved());
+
+        try {
+            submit(AttendanceEvent.Type.CHECK_OUT, userId, today, updated);
+        } catch (RuntimeException e) {
+            board.restore(userId, current);
+            throw e;
+        }
+
+        log.info("User {} checked out at {} with {} hours worked (queued)", userId, checkOutTime, totalHours);
+        return toAttendance(today, updated);
+    }
+
+    @Override
+    public int queueDepth() {
+        return queue != null ? queue.size() : 0;
+    }
+
+    // Log first, then enqueue, under one lock so queue order matches log order.
+    // The queue is only drained by the writer, so a free slot can't disappear in between.
+    private void submit(AttendanceEvent.Type type, UUID userId, LocalDate date, DayAttendanceIndex.Entry entry) {
+        synchronized (submitLock) {
+            if (!running || queue.remainingCapacity() == 0) {
+                if (rejected != null) {
+                    rejected.increment();
+                }
+                throw new IngestionBackpressureException("Attendance ingestion is busy, please retry", retryAfter);
+            }
+
+            AttendanceEvent event = new AttendanceEvent(++sequence, type, entry.attendanceId(), userId, date,
+                    type == AttendanceEvent.Type.CHECK_IN ? entry.checkInTime() : entry.checkOutTime(),
+                    entry.status(), entry.totalHours());
+            eventLog.append(event);
+            queue.add(event);
+        }
+    }
+
+    private void runWriter() {
+        long intervalNanos = flushInterval.toNanos();
+        List<AttendanceEvent> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                // A batch left over from a failed flush is retried as is before anything new is taken
+                if (batch.isEmpty()) {
+                    AttendanceEvent first = queue.poll(intervalNanos, TimeUnit.NANOSECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+
+                    // Group commit: up to batchSize events or one flush interval, whichever comes first
+                    long deadline = System.nanoTime() + intervalNanos;
+                    while (batch.size() < batchSize) {
+                        queue.drainTo(batch, batchSize - batch.size());
+                        long remaining = deadline - System.nanoTime();
+                        if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                            break;
+                        }
+                        AttendanceEvent next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                }
+
+                if (!flush(batch, true)) {
+                    // Shutting down (or replaying at startup) with the database unavailable; the log keeps the rest
+                    return;
+                }
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Nothing of the batch was committed in the log: retry it, never skip past it, since
+                // the next commit marker would cover these sequences too
+                log.error("Attendance ingestion writer failed on a batch of {} events, retrying", batch.size(), e);
+                if (!running) {
+                    // Left uncommitted in the event log and replayed on the next start
+                    return;
+                }
+                sleepQuietly(retryAfter);
+            }
+        }
+    }
+
+    // Writes one batch in one transaction and marks it committed in the log.
+    // Returns false only if the batch could not be written and the service is not running.
+    private boolean flush(List<AttendanceEvent> batch, boolean updateRollup) {
+        long start = System.nanoTime();
+        while (true) {
+            try {
+                flushTransaction.executeWithoutResult(status -> write(batch, updateRollup));
+                break;
+            } catch (DataIntegrityViolationException e) {
+                // One bad event (e.g. a deleted user) must not block the rest
+                log.warn("Batch of {} events rejected, writing individually: {}", batch.size(), e.getMessage());
+                if (!writeIndividually(batch, updateRollup)) {
+                    return false;
+                }
+                break;
+            } catch (DataAccessException | TransactionException e) {
+                log.warn("Attendance ingestion flush failed, retrying: {}", e.getMessage());
+                if (!running) {
+                    return false;
+                }
+                sleepQuietly(retryAfter);
+            }
+        }
+
+        try {
+            eventLog.commit(batch.get(batch.size() - 1).sequence());
+        } catch (UncheckedIOException e) {
+            // The rows are written; a lost marker only means an idempotent replay on the next start
+            log.error("Could not record committed attendance events up to {}", batch.get(batch.size() - 1).sequence(), e);
+        }
+        if (flushTimer != null) {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        return true;
+    }
+
+    // Same retry rules as flush, per event; events already written here are replayed
+    // idempotently if the service stops before the rest succeed
+    private boolean writeIndividually(List<AttendanceEvent> batch, boolean updateRollup) {
+        for (AttendanceEvent event : batch) {
+            while (true) {
+                try {
+                    flushTransaction.executeWithoutResult(status -> write(List.of(event), updateRollup));
+                    break;
+                } catch (DataIntegrityViolationException e) {
+                    log.error("Dropping attendance event {} for user {}: {}", event.sequence(), event.userId(), e.getMessage());
+                    break;
+                } catch (DataAccessException | TransactionException e) {
+                    log.warn("Attendance event {} write failed, retrying: {}", event.sequence(), e.getMessage());
+                    if (!running) {
+                        return false;
+                    }
+                    sleepQuietly(retryAfter);
+                }
+            }
+        }
+        return true;
+    }
+
+    private void write(List<AttendanceEvent> batch, boolean updateRollup) {
+        List<Attendance> checkIns = new ArrayList<>();
+        List<Attendance> checkOuts = new ArrayList<>();
+        for (AttendanceEvent event : batch) {
+            (event.type() == AttendanceEvent.Type.CHECK_IN ? checkIns : checkOuts).add(toAttendance(event));
+        }
+
+        // Check-ins first: a check-out in the same batch updates the row inserted here
+        Set<UUID> inserted = attendanceJdbcRepository.insertCheckIns(checkIns);
+        Set<UUID> closed = attendanceJdbcRepository.updateCheckOuts(checkOuts);
+
+        // Only rows written here: replayed or duplicate events must not count twice
+        if (updateRollup) {
+            for (AttendanceEvent event : batch) {
+                boolean checkIn = event.type() == AttendanceEvent.Type.CHECK_IN;
+                if (!(checkIn ? inserted : closed).contains(event.attendanceId())) {
+                    continue;
+                }
+                if (checkIn) {
+                    attendanceRollupService.recordCheckIn(event.date(), event.userId(), event.status());
+                } else {
+                    attendanceRollupService.recordCheckOut(event.date(), event.userId(), event.status(), event.totalHours());
+                }
+            }
+        }
+    }
+
+    private static Attendance toAttendance(AttendanceEvent event) {
+        User user = new User();
+        user.setId(event.userId());
+
+        Attendance attendance = Attendance.builder()
+                .id(event.attendanceId())
+                .user(user)
+                .date(event.date())
+                .status(event.status())
+                .totalHours(event.totalHours())
+                .build();
+        if (event.type() == AttendanceEvent.Type.CHECK_IN) {
+            attendance.setCheckInTime(event.time());
+        } else {
+            attendance.setCheckOutTime(event.time());
+        }
+        return attendance;
+    }
+
+    private static Attendance toAttendance(LocalDate date, DayAttendanceIndex.Entry entry) {
+        return Attendance.builder()
+                .id(entry.attendanceId())
+                .date(date)
+                .checkInTime(entry.checkInTime())
+                .checkOutTime(entry.checkOutTime())
+                .status(entry.status())
+                .totalHours(entry.totalHours())
+                .lateApproved(entry.lateApproved())
+                .build();
+    }
+
+    private static void sleepQuietly(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.srinath.attendance.service.impl;
+
+import com.srinath.attendance.entity.AttendanceStatus;
+import com.srinath.attendance.entity.Department;
+import com.srinath.attendance.repository.DailyAttendanceRollupRepository;
+import com.srinath.attendance.repository.DepartmentRepository;
+import com.srinath.attendance.service.AttendanceRollupService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Keeps daily_attendance_rollup in step with attendance writes. Each total is spread over
+// `slots` rows and every increment updates a random one, so the morning check-in burst of a
+// department is not serialized on a single row lock. Days are seeded ahead of time by
+// DailyRollupSeeding; anything missing is inserted inside the caller's own transaction.
+@Service
+@Transactional
+@Slf4j
+public class AttendanceRollupServiceImpl implements AttendanceRollupService {
+
+    private final DailyAttendanceRollupRepository rollupRepository;
+    private final DepartmentRepository departmentRepository;
+    private final int slots;
+
+    public AttendanceRollupServiceImpl(DailyAttendanceRollupRepository rollupRepository,
+                                       DepartmentRepository departmentRepository,
+                                       @Value("${attendance.rollup.slots:16}") int slots) {
+        this.rollupRepository = rollupRepository;
+        this.departmentRepository = departmentRepository;
+        this.slots = Math.max(slots, 1);
+    }
+
+    @Override
+    public void recordCheckIn(LocalDate date, UUID userId, AttendanceStatus status) {
+        increment(date, userId, status, 1, 0.0, 0);
+    }
+
+    @Override
+    public void recordCheckOut(LocalDate date, UUID userId, AttendanceStatus status, double hoursWorked) {
+        increment(date, userId, status, 0, hoursWorked, 0);
+    }
+
+    @Override
+    public void recordLateApproval(LocalDate date, UUID userId, AttendanceStatus status) {
+        increment(date, userId, status, 0, 0.0, 1);
+    }
+
+    @Override
+    public void refresh(LocalDate date, UUID departmentId) {
+        // The exact totals land in slot 0, so that is the only row a refresh needs
+        List<UUID> departments = departmentId != null
+                ? List.of(departmentId)
+                : departmentRepository.findAll().stream().map(Department::getId).toList();
+        for (UUID department : departments) {
+            for (AttendanceStatus status : AttendanceStatus.values()) {
+                rollupRepository.insertEmptySlots(date, department, status.name(), 1);
+            }
+        }
+
+        int rows = departmentId != null
+                ? rollupRepository.refresh(date, departmentId)
+                : rollupRepository.refresh(date);
+        log.debug("Refreshed {} rollup rows for {}", rows, date);
+    }
+
+    @Override
+    public void seed(LocalDate date) {
+        for (Department department : departmentRepository.findAll()) {
+            for (AttendanceStatus status : AttendanceStatus.values()) {
+                rollupRepository.insertEmptySlots(date, department.getId(), status.name(), slots);
+            }
+        }
+        log.debug("Seeded rollup rows for {}", date);
+    }
+
+    private void increment(LocalDate date, UUID userId, AttendanceStatus status,
+                           long count, double hours, long lateApproved) {
+        short slot = (short) ThreadLocalRandom.current().nextInt(slots);
+        if (rollupRepository.incrementForUser(date, userId, status, slot, count, hours, lateApproved) == 0) {
+            // Day not seeded yet, or department created after it was
+            rollupRepository.insertEmptySlotsForUser(date, userId, status.name(), slots);
+            rollupRepository.incrementForUser(date, userId, status, slot, count, hours, lateApproved);
+        }
+    }
+}
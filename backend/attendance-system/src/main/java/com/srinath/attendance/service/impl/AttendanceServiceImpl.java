@@ -1,28 +1,47 @@
 package com.srinath.attendance.service.impl;
 
+import com.srinath.attendance.board.DayAttendanceIndex;
+import com.srinath.attendance.dto.response.CursorPage;
 import com.srinath.attendance.dto.response.TeamSummaryResponse;
 import com.srinath.attendance.dto.response.TodayStatusResponse;
+import com.srinath.attendance.dto.summary.AbsentMarkingSummary;
 import com.srinath.attendance.entity.Attendance;
 import com.srinath.attendance.entity.AttendanceStatus;
 import com.srinath.attendance.entity.User;
 import com.srinath.attendance.exception.InvalidAttendanceStateException;
+import com.srinath.attendance.exception.InvalidCursorException;
 import com.srinath.attendance.exception.UserNotFoundException;
+import com.srinath.attendance.repository.AttendanceCursor;
+import com.srinath.attendance.repository.AttendanceJdbcRepository;
+import com.srinath.attendance.repository.AttendanceJdbcRepository.CheckOutOutcome;
+import com.srinath.attendance.repository.AttendanceJdbcRepository.CheckOutResult;
 import com.srinath.attendance.repository.AttendanceRepository;
+import com.srinath.attendance.repository.projection.TodayStatusView;
 import com.srinath.attendance.repository.UserRepository;
+import com.srinath.attendance.service.AbsentMarkingService;
+import com.srinath.attendance.service.AttendanceRollupService;
 import com.srinath.attendance.service.AttendanceService;
+import com.srinath.attendance.service.TeamSummaryCache;
+import com.srinath.attendance.service.TodayAttendanceBoard;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -33,7 +52,12 @@ import java.util.UUID;
 public class AttendanceServiceImpl implements AttendanceService {
 
     private final AttendanceRepository attendanceRepository;
+    private final AttendanceJdbcRepository attendanceJdbcRepository;
     private final UserRepository userRepository;
+    private final AbsentMarkingService absentMarkingService;
+    private final AttendanceRollupService attendanceRollupService;
+    private final TodayAttendanceBoard todayAttendanceBoard;
+    private final TeamSummaryCache teamSummaryCache;
 
     // Configuration constants (should be moved to properties in production)
     private static final LocalTime OFFICE_START_TIME = LocalTime.of(9, 0);
@@ -41,36 +65,44 @@ public class AttendanceServiceImpl implements AttendanceService {
     private static final LocalTime LATE_THRESHOLD = LocalTime.of(9, 30);
     private static final double BREAK_DURATION_MINUTES = 30.0;
 
+    // Lowest UUID: keyset start for the first page
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+
     @Override
     public Attendance checkIn(UUID userId) {
         log.info("Check-in attempt for user: {}", userId);
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> {
-                    log.error("User not found for check-in: {}", userId);
-                    return new UserNotFoundException("User not found");
-                });
-
         LocalDate today = LocalDate.now();
+        LocalDateTime checkInTime = LocalDateTime.now();
+        AttendanceStatus status = determineStatus(checkInTime.toLocalTime());
+        UUID attendanceId = UUID.randomUUID();
+
+        // One atomic insert; the (user_id, date) unique key decides double check-ins
+        boolean inserted;
+        try {
+            inserted = attendanceJdbcRepository.insertCheckIn(attendanceId, userId, today, checkInTime, status.name());
+        } catch (DataIntegrityViolationException e) {
+            // Only the user FK can fail here
+            log.error("User not found for check-in: {}", userId);
+            throw new UserNotFoundException("User not found");
+        }
 
-        // Check if already checked in today
-        if (attendanceRepository.existsByUserIdAndDate(userId, today)) {
+        if (!inserted) {
             log.warn("User already checked in today: {}", userId);
             throw new InvalidAttendanceStateException("Already checked in today");
         }
 
-        LocalDateTime checkInTime = LocalDateTime.now();
-        AttendanceStatus status = determineStatus(checkInTime.toLocalTime());
-
-        Attendance attendance = Attendance.builder()
-                .user(user)
+        Attendance saved = Attendance.builder()
+                .id(attendanceId)
+                .user(userRepository.getReferenceById(userId))
                 .date(today)
                 .checkInTime(checkInTime)
                 .status(status)
                 .totalHours(0.0)
                 .build();
 
-        Attendance saved = attendanceRepository.save(attendance);
+        attendanceRollupService.recordCheckIn(today, userId, status);
+        todayAttendanceBoard.recordCheckIn(today, userId, attendanceId, checkInTime, status);
         log.info("User {} checked in at {} with status {}", userId, checkInTime, status);
 
         return saved;
@@ -80,32 +112,34 @@ public class AttendanceServiceImpl implements AttendanceService {
     public Attendance checkOut(UUID userId) {
         log.info("Check-out attempt for user: {}", userId);
 
-        Attendance attendance = attendanceRepository
-                .findByUserIdAndDate(userId, LocalDate.now())
-                .orElseThrow(() -> {
-                    log.error("No check-in found for check-out: {}", userId);
-                    return new InvalidAttendanceStateException("No check-in found for today");
-                });
+        LocalDate today = LocalDate.now();
+        LocalDateTime checkOutTime = LocalDateTime.now();
 
-        if (attendance.getCheckOutTime() != null) {
+        // One conditional update; hours are computed from the stored check-in by the database
+        CheckOutResult result = attendanceJdbcRepository.checkOut(userId, today, checkOutTime, BREAK_DURATION_MINUTES);
+        if (result.outcome() == CheckOutOutcome.NO_CHECK_IN) {
+            log.error("No check-in found for check-out: {}", userId);
+            throw new InvalidAttendanceStateException("No check-in found for today");
+        }
+        if (result.outcome() == CheckOutOutcome.ALREADY_CHECKED_OUT) {
             log.warn("User already checked out today: {}", userId);
             throw new InvalidAttendanceStateException("Already checked out today");
         }
 
-        LocalDateTime checkOutTime = LocalDateTime.now();
-        attendance.setCheckOutTime(checkOutTime);
-
-        // Calculate total hours worked
-        double totalHours = calculateTotalHours(attendance.getCheckInTime(), checkOutTime);
-        attendance.setTotalHours(totalHours);
-
-        // Update status if not already marked late/half-day
-        if (attendance.getStatus() == AttendanceStatus.PRESENT) {
-            attendance.setStatus(AttendanceStatus.PRESENT);
-        }
+        Attendance saved = Attendance.builder()
+                .id(result.attendanceId())
+                .user(userRepository.getReferenceById(userId))
+                .date(today)
+                .checkInTime(result.checkInTime())
+                .checkOutTime(checkOutTime)
+                .status(result.status())
+                .totalHours(result.totalHours())
+                .lateApproved(result.lateApproved())
+                .build();
 
-        Attendance saved = attendanceRepository.save(attendance);
-        log.info("User {} checked out at {} with {} hours worked", userId, checkOutTime, totalHours);
+        attendanceRollupService.recordCheckOut(today, userId, result.status(), result.totalHours());
+        todayAttendanceBoard.recordCheckOut(today, userId, checkOutTime, result.totalHours(), result.status());
+        log.info("User {} checked out at {} with {} hours worked", userId, checkOutTime, result.totalHours());
 
         return saved;
     }
@@ -113,6 +147,18 @@ public class AttendanceServiceImpl implements AttendanceService {
     @Override
     @Transactional(readOnly = true)
     public Optional<Attendance> getTodayAttendance(UUID userId) {
+        if (todayAttendanceBoard.isEnabled()) {
+            DayAttendanceIndex board = todayAttendanceBoard.today();
+            return board.get(userId).map(entry -> Attendance.builder()
+                    .id(entry.attendanceId())
+                    .date(board.getDate())
+                    .checkInTime(entry.checkInTime())
+                    .checkOutTime(entry.checkOutTime())
+                    .status(entry.status())
+                    .totalHours(entry.totalHours())
+                    .lateApproved(entry.lateApproved())
+                    .build());
+        }
         return attendanceRepository.findByUserIdAndDate(userId, LocalDate.now());
     }
 
@@ -130,6 +176,58 @@ public class AttendanceServiceImpl implements AttendanceService {
         return attendanceRepository.findByDate(date, pageable);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Attendance> scrollAttendanceByDate(LocalDate date, AttendanceStatus status, String cursor,
+                                                         int size, boolean includeTotal) {
+        AttendanceCursor after = AttendanceCursor.decode(cursor);
+        if (after != null && !after.getDate().equals(date)) {
+            throw new InvalidCursorException("Cursor belongs to another date");
+        }
+
+        List<Attendance> rows = attendanceRepository.findByDateAfterId(
+                date, status, after != null ? after.getId() : MIN_ID, Limit.of(size + 1));
+
+        Long total = null;
+        if (includeTotal) {
+            total = status != null
+                    ? attendanceRepository.countByStatusAndDate(status, date)
+                    : attendanceRepository.countByDate(date);
+        }
+        return cursorPage(rows, size, total);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Attendance> scrollAttendanceHistory(UUID userId, LocalDate startDate, LocalDate endDate,
+                                                          String cursor, int size, boolean includeTotal) {
+        // (user_id, date) is unique, so the date alone positions the cursor
+        AttendanceCursor after = AttendanceCursor.decode(cursor);
+        LocalDate afterDate = after != null ? after.getDate() : startDate.minusDays(1);
+
+        List<Attendance> rows = attendanceRepository.findByUserIdAfterDate(
+                userId, afterDate, endDate, Limit.of(size + 1));
+
+        Long total = includeTotal
+                ? attendanceRepository.countByUserIdAndDateBetween(userId, startDate, endDate)
+                : null;
+        return cursorPage(rows, size, total);
+    }
+
+    // Rows were fetched with one extra to learn whether another page exists
+    private static CursorPage<Attendance> cursorPage(List<Attendance> rows, int size, Long total) {
+        boolean hasMore = rows.size() > size;
+        List<Attendance> items = hasMore ? rows.subList(0, size) : rows;
+        Attendance last = items.isEmpty() ? null : items.get(items.size() - 1);
+
+        return CursorPage.<Attendance>builder()
+                .items(items)
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? new AttendanceCursor(last.getDate(), last.getId()).encode() : null)
+                .total(total)
+                .build();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<Attendance> filterAttendance(UUID userId, LocalDate startDate, LocalDate endDate, AttendanceStatus status, Pageable pageable) {
@@ -147,11 +245,16 @@ public class AttendanceServiceImpl implements AttendanceService {
         User approver = userRepository.findById(approvedBy)
                 .orElseThrow(() -> new UserNotFoundException("Approver user not found"));
 
+        boolean newlyApproved = !attendance.isLateApproved();
         attendance.setLateApproved(true);
         attendance.setApprovedBy(approver);
         attendance.setApprovedAt(LocalDateTime.now());
 
         Attendance saved = attendanceRepository.save(attendance);
+        if (newlyApproved) {
+            attendanceRollupService.recordLateApproval(saved.getDate(), saved.getUser().getId(), saved.getStatus());
+            todayAttendanceBoard.recordLateApproval(saved.getDate(), saved.getUser().getId());
+        }
         log.info("Late approval granted for attendance {}", attendanceId);
 
         return saved;
@@ -164,36 +267,20 @@ public class AttendanceServiceImpl implements AttendanceService {
         return attendanceRepository.findByStatusAndDate(status, date);
     }
 
-    // 📅 Scheduled job to mark absent employees
-    @Scheduled(cron = "0 0 18 * * MON-FRI") // 6 PM on weekdays
+    // 📅 Single-node absent marking; the cluster-safe schedule lives in AbsentMarkingScheduler
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // chunks commit independently
     @Override
     public void autoMarkAbsent() {
         log.info("Running auto-mark absent job");
 
-        LocalDate today = LocalDate.now();
-        List<User> allUsers = userRepository.findAll();
-
-        for (User user : allUsers) {
-            boolean hasCheckIn = attendanceRepository.existsByUserIdAndDate(user.getId(), today);
-
-            if (!hasCheckIn) {
-                Attendance absentRecord = Attendance.builder()
-                        .user(user)
-                        .date(today)
-                        .status(AttendanceStatus.ABSENT)
-                        .totalHours(0.0)
-                        .build();
-
-                attendanceRepository.save(absentRecord);
-                log.info("Marked user {} as absent for {}", user.getId(), today);
-            }
-        }
+        AbsentMarkingSummary summary = absentMarkingService.markAbsent(LocalDate.now());
 
-        log.info("Auto-mark absent job completed");
+        log.info("Auto-mark absent job completed: {} users marked in {} ms",
+                summary.getUsersMarked(), summary.getElapsedMillis());
     }
 
     // Helper methods
-    private AttendanceStatus determineStatus(LocalTime checkInTime) {
+    static AttendanceStatus determineStatus(LocalTime checkInTime) {
         if (checkInTime.isBefore(LATE_THRESHOLD)) {
             return AttendanceStatus.PRESENT;
         } else if (checkInTime.isBefore(OFFICE_END_TIME)) {
@@ -203,7 +290,7 @@ public class AttendanceServiceImpl implements AttendanceService {
         }
     }
 
-    private double calculateTotalHours(LocalDateTime checkInTime, LocalDateTime checkOutTime) {
+    static double calculateTotalHours(LocalDateTime checkInTime, LocalDateTime checkOutTime) {
         long minutesWorked = ChronoUnit.MINUTES.between(checkInTime, checkOutTime);
         double hoursWorked = (minutesWorked - BREAK_DURATION_MINUTES) / 60.0;
         return Math.max(hoursWorked, 0.0); // Ensure non-negative
@@ -215,63 +302,60 @@ public class AttendanceServiceImpl implements AttendanceService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public TeamSummaryResponse getTeamSummary(LocalDate date) {
-        long totalEmployees = userRepository.count();
-        long presentToday = attendanceRepository.countByStatusAndDate(AttendanceStatus.PRESENT, date);
-        long absentToday = attendanceRepository.countByStatusAndDate(AttendanceStatus.ABSENT, date);
-        long lateToday = attendanceRepository.countByStatusAndDate(AttendanceStatus.LATE, date);
-        long halfDayToday = attendanceRepository.countByStatusAndDate(AttendanceStatus.HALF_DAY, date);
+        return teamSummaryCache.get(date, this::loadTeamSummary);
+    }
+
+    private TeamSummaryResponse loadTeamSummary(LocalDate date) {
+        // Today from the board when it is on, otherwise one grouped count for the date
+        EnumMap<AttendanceStatus, Long> counts = todayAttendanceBoard.isEnabled() && date.equals(LocalDate.now())
+                ? todayAttendanceBoard.countTodayByStatus()
+                : attendanceRepository.countByStatusForDate(date);
 
         return TeamSummaryResponse.builder()
-                .totalEmployees(totalEmployees)
-                .presentToday(presentToday)
-                .absentToday(absentToday)
-                .lateToday(lateToday)
-                .halfDayToday(halfDayToday)
+                .totalEmployees(userRepository.count())
+                .presentToday(counts.get(AttendanceStatus.PRESENT))
+                .absentToday(counts.get(AttendanceStatus.ABSENT))
+                .lateToday(counts.get(AttendanceStatus.LATE))
+                .halfDayToday(counts.get(AttendanceStatus.HALF_DAY))
                 .build();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public TodayStatusResponse getTodayStatus() {
-        LocalDate today = LocalDate.now();
-        List<Attendance> presentAttendances = attendanceRepository.findByStatusAndDate(AttendanceStatus.PRESENT, today);
-        List<Attendance> absentAttendances = attendanceRepository.findByStatusAndDate(AttendanceStatus.ABSENT, today);
-        List<Attendance> lateAttendances = attendanceRepository.findByStatusAndDate(AttendanceStatus.LATE, today);
-
-        List<TodayStatusResponse.EmployeeInfo> presentEmployees = presentAttendances.stream()
-                .map(att -> TodayStatusResponse.EmployeeInfo.builder()
-                        .id(att.getUser().getId())
-                        .name(att.getUser().getName())
-                        .employeeId(att.getUser().getEmployeeId())
-                        .department(att.getUser().getDepartment() != null ? att.getUser().getDepartment().getName() : "")
-                        .checkInTime(att.getCheckInTime() != null ? att.getCheckInTime().toString() : "")
-                        .build())
-                .toList();
-
-        List<TodayStatusResponse.EmployeeInfo> absentEmployees = absentAttendances.stream()
-                .map(att -> TodayStatusResponse.EmployeeInfo.builder()
-                        .id(att.getUser().getId())
-                        .name(att.getUser().getName())
-                        .employeeId(att.getUser().getEmployeeId())
-                        .department(att.getUser().getDepartment() != null ? att.getUser().getDepartment().getName() : "")
-                        .checkInTime("")
-                        .build())
-                .toList();
-
-        List<TodayStatusResponse.EmployeeInfo> lateEmployees = lateAttendances.stream()
-                .map(att -> TodayStatusResponse.EmployeeInfo.builder()
-                        .id(att.getUser().getId())
-                        .name(att.getUser().getName())
-                        .employeeId(att.getUser().getEmployeeId())
-                        .department(att.getUser().getDepartment() != null ? att.getUser().getDepartment().getName() : "")
-                        .checkInTime(att.getCheckInTime() != null ? att.getCheckInTime().toString() : "")
-                        .build())
-                .toList();
+        // One joined query for the whole day, grouped in memory
+        Map<AttendanceStatus, List<TodayStatusResponse.EmployeeInfo>> byStatus = new EnumMap<>(AttendanceStatus.class);
+        for (AttendanceStatus status : AttendanceStatus.values()) {
+            byStatus.put(status, new ArrayList<>());
+        }
+        for (TodayStatusView view : attendanceRepository.findStatusViewsByDate(LocalDate.now())) {
+            byStatus.get(view.getStatus()).add(toEmployeeInfo(view));
+        }
 
         return TodayStatusResponse.builder()
-                .presentEmployees(presentEmployees)
-                .absentEmployees(absentEmployees)
-                .lateEmployees(lateEmployees)
+                .presentEmployees(byStatus.get(AttendanceStatus.PRESENT))
+                .absentEmployees(byStatus.get(AttendanceStatus.ABSENT))
+                .lateEmployees(byStatus.get(AttendanceStatus.LATE))
+                .halfDayEmployees(byStatus.get(AttendanceStatus.HALF_DAY))
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<TodayStatusResponse.EmployeeInfo> getTodayStatus(AttendanceStatus status, Pageable pageable) {
+        return attendanceRepository.findStatusViewsByDateAndStatus(LocalDate.now(), status, pageable)
+                .map(this::toEmployeeInfo);
+    }
+
+    private TodayStatusResponse.EmployeeInfo toEmployeeInfo(TodayStatusView view) {
+        return TodayStatusResponse.EmployeeInfo.builder()
+                .id(view.getUserId())
+                .name(view.getName())
+                .employeeId(view.getEmployeeId())
+                .department(view.getDepartmentName() != null ? view.getDepartmentName() : "")
+                .checkInTime(view.getCheckInTime() != null ? view.getCheckInTime().toString() : "")
                 .build();
     }
 }
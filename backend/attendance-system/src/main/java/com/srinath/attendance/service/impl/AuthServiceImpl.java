@@ -10,6 +10,7 @@ import com.srinath.attendance.entity.User;
 import com.srinath.attendance.exception.DepartmentNotFoundException;
 import com.srinath.attendance.exception.ResourceAlreadyExistsException;
 import com.srinath.attendance.exception.RoleNotFoundException;
+import com.srinath.attendance.security.CustomUserDetails;
 import com.srinath.attendance.security.JwtService;
 import com.srinath.attendance.service.AuthService;
 import com.srinath.attendance.service.DepartmentService;
@@ -21,6 +22,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -64,7 +66,7 @@ public class AuthServiceImpl implements AuthService {
                 });
 
         // Generate unique employee ID
-        String employeeId = "EMP-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        String employeeId = generateEmployeeId();
 
         User user = User.builder()
                 .name(request.getName())
@@ -79,21 +81,29 @@ public class AuthServiceImpl implements AuthService {
         userService.createUser(user);
         log.info("User registered successfully with employee ID: {}", employeeId);
 
-        String token = jwtService.generateToken(user.getEmail(), user.getRole().getName().name());
+        String token = jwtService.generateToken(new CustomUserDetails(user));
 
         return AuthResponse.builder()
                 .token(token).tokenType("Bearer")
                 .build();
     }
 
+    // Shared with the bulk onboarding import
+    static String generateEmployeeId() {
+        return "EMP-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+
     @Override
     public AuthResponse login(LoginRequest request) {
         log.info("Login attempt for user: {}", request.getEmail());
 
         String normalizedEmail = request.getEmail().toLowerCase().trim();
 
+        // The password check runs on the bounded hashing pool; the principal it loaded is
+        // reused for the token instead of querying the user again
+        Authentication authentication;
         try {
-            authenticationManager.authenticate(
+            authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
                             normalizedEmail,
                             request.getPassword()
@@ -104,14 +114,10 @@ public class AuthServiceImpl implements AuthService {
             throw e;
         }
 
-        User user = userService.getUserByEmail(normalizedEmail)
-                .orElseThrow(() -> {
-                    log.error("User not found after authentication: {}", normalizedEmail);
-                    return new RuntimeException("User not found");
-                });
+        CustomUserDetails principal = (CustomUserDetails) authentication.getPrincipal();
 
         log.info("User logged in successfully: {}", normalizedEmail);
-        String token = jwtService.generateToken(user.getEmail(), user.getRole().getName().name());
+        String token = jwtService.generateToken(principal);
 
         return AuthResponse.builder()
                 .token(token).tokenType("Bearer")
@@ -0,0 +1,345 @@
+package com.srinath.attendance.service.impl;
+
+import com.srinath.attendance.dto.request.BadgeScan;
+import com.srinath.attendance.dto.summary.BadgeScanImportSummary;
+import com.srinath.attendance.dto.summary.BadgeScanImportSummary.LineError;
+import com.srinath.attendance.entity.Attendance;
+import com.srinath.attendance.entity.User;
+import com.srinath.attendance.repository.AttendanceJdbcRepository;
+import com.srinath.attendance.repository.UserRepository;
+import com.srinath.attendance.repository.projection.EmployeeKeyView;
+import com.srinath.attendance.service.AttendanceRollupService;
+import com.srinath.attendance.service.BadgeScanImportService;
+import com.srinath.attendance.service.TeamSummaryCache;
+import com.srinath.attendance.service.TodayAttendanceBoard;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+// Bulk badge-reader ingestion. Scans are folded while the body streams in, one slot per
+// employee and day (earliest IN, latest OUT), so memory follows employee-days, not scans.
+// Employee ids are then resolved in chunks and each day is merged with the stored rows
+// (locked per chunk) and written back in JDBC batches, one short transaction per chunk.
+@Service
+@Slf4j
+public class BadgeScanImportServiceImpl implements BadgeScanImportService {
+
+    private final UserRepository userRepository;
+    private final AttendanceJdbcRepository attendanceJdbcRepository;
+    private final AttendanceRollupService attendanceRollupService;
+    private final TodayAttendanceBoard todayAttendanceBoard;
+    private final TeamSummaryCache teamSummaryCache;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate chunkTransaction;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public BadgeScanImportServiceImpl(UserRepository userRepository,
+                                      AttendanceJdbcRepository attendanceJdbcRepository,
+                                      AttendanceRollupService attendanceRollupService,
+                                      TodayAttendanceBoard todayAttendanceBoard,
+                                      TeamSummaryCache teamSummaryCache,
+                                      ObjectMapper objectMapper,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${attendance.badge-import.chunk-size:1000}") int chunkSize,
+                                      @Value("${attendance.badge-import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.userRepository = userRepository;
+        this.attendanceJdbcRepository = attendanceJdbcRepository;
+        this.attendanceRollupService = attendanceRollupService;
+        this.todayAttendanceBoard = todayAttendanceBoard;
+        this.teamSummaryCache = teamSummaryCache;
+        this.objectMapper = objectMapper;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    private record EmployeeDay(String employeeId, LocalDate date) {
+    }
+
+    private static final class DayScans {
+        private final long firstLine;
+        private LocalDateTime firstIn;
+        private LocalDateTime lastOut;
+
+        private DayScans(long firstLine) {
+            this.firstLine = firstLine;
+        }
+    }
+
+    private record UserScans(UUID userId, String employeeId, DayScans scans) {
+    }
+
+    private record StoredRow(UUID id, LocalDateTime checkInTime, LocalDateTime checkOutTime, boolean lateApproved) {
+    }
+
+    private record ChunkResult(int inserted, int updated, int conflicts) {
+    }
+
+    private final class ImportErrors {
+        private final List<LineError> reported = new ArrayList<>();
+        private long count;
+
+        private void add(long line, String message) {
+            count++;
+            if (reported.size() < maxReportedErrors) {
+                reported.add(new LineError(line, message));
+            }
+        }
+    }
+
+    @Override
+    public BadgeScanImportSummary importScans(InputStream body, Format format) throws IOException {
+        long start = System.nanoTime();
+        ImportErrors errors = new ImportErrors();
+        Map<EmployeeDay, DayScans> days = new HashMap<>();
+
+        long lines = 0;
+        long accepted = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 64 * 1024)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines++;
+                if (line.isBlank() || (lines == 1 && format == Format.CSV && isCsvHeader(line))) {
+                    continue;
+                }
+                try {
+                    BadgeScan scan = format == Format.NDJSON ? objectMapper.readValue(line, BadgeScan.class) : parseCsv(line);
+                    fold(scan, lines, days);
+                    accepted++;
+                } catch (IllegalArgumentException | DateTimeException | JacksonException e) {
+                    errors.add(lines, e.getMessage());
+                }
+            }
+        }
+        log.info("Badge import parsed {} lines: {} scans over {} employee-days ({} errors)",
+                lines, accepted, days.size(), errors.count);
+
+        Map<LocalDate, List<UserScans>> byDate = resolveEmployees(days, errors);
+
+        int inserted = 0;
+        int updated = 0;
+        int conflicts = 0;
+        for (Map.Entry<LocalDate, List<UserScans>> entry : byDate.entrySet()) {
+            LocalDate date = entry.getKey();
+            List<UserScans> scans = entry.getValue();
+            for (int from = 0; from < scans.size(); from += chunkSize) {
+                List<UserScans> chunk = scans.subList(from, Math.min(from + chunkSize, scans.size()));
+                ChunkResult result = chunkTransaction.execute(status -> writeChunk(date, chunk, errors));
+                inserted += result.inserted();
+                updated += result.updated();
+                conflicts += result.conflicts();
+            }
+
+            // Rebuilt from the table rather than incremented: merged rows may change status
+            attendanceRollupService.refresh(date, null);
+            teamSummaryCache.evict(date);
+        }
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Badge import finished: {} inserted, {} updated, {} conflicts, {} errors in {} ms",
+                inserted, updated, conflicts, errors.count, elapsedMillis);
+
+        return BadgeScanImportSummary.builder()
+                .linesRead(lines)
+                .scansAccepted(accepted)
+                .attendancesInserted(inserted)
+                .attendancesUpdated(updated)
+                .conflicts(conflicts)
+                .errorCount(errors.count)
+                .errors(errors.reported)
+                .elapsedMillis(elapsedMillis)
+                .scansPerSecond(elapsedMillis > 0 ? accepted * 1000.0 / elapsedMillis : accepted)
+                .build();
+    }
+
+    private static boolean isCsvHeader(String line) {
+        return line.strip().toLowerCase(Locale.ROOT).startsWith("employeeid");
+    }
+
+    private static BadgeScan parseCsv(String line) {
+        String[] fields = line.split(",", -1);
+        if (fields.length != 3) {
+            throw new IllegalArgumentException("Expected employeeId,timestamp,direction but found " + fields.length + " fields");
+        }
+        return new BadgeScan(unquote(fields[0]), unquote(fields[1]), unquote(fields[2]));
+    }
+
+    static String unquote(String field) {
+        String value = field.strip();
+        return value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")
+                ? value.substring(1, value.length() - 1)
+                : value;
+    }
+
+    private static void fold(BadgeScan scan, long line, Map<EmployeeDay, DayScans> days) {
+        if (scan.getEmployeeId() == null || scan.getEmployeeId().isBlank()) {
+            throw new IllegalArgumentException("Missing employeeId");
+        }
+        if (scan.getTimestamp() == null || scan.getDirection() == null) {
+            throw new IllegalArgumentException("Missing timestamp or direction");
+        }
+
+        LocalDateTime time = parseTimestamp(scan.getTimestamp().strip());
+        boolean in = switch (scan.getDirection().strip().toUpperCase(Locale.ROOT)) {
+            case "IN" -> true;
+            case "OUT" -> false;
+            default -> throw new IllegalArgumentException("Unknown direction: " + scan.getDirection());
+        };
+
+        DayScans day = days.computeIfAbsent(new EmployeeDay(scan.getEmployeeId().strip(), time.toLocalDate()),
+                key -> new DayScans(line));
+        if (in) {
+            day.firstIn = earliest(day.firstIn, time);
+        } else {
+            day.lastOut = latest(day.lastOut, time);
+        }
+    }
+
+    // ISO-8601 local time (a space instead of 'T' is accepted); offsets are converted to server time
+    private static LocalDateTime parseTimestamp(String value) {
+        String iso = value.length() > 10 && value.charAt(10) == ' '
+                ? value.substring(0, 10) + 'T' + value.substring(11)
+                : value;
+        try {
+            return LocalDateTime.parse(iso);
+        } catch (DateTimeParseException e) {
+            return OffsetDateTime.parse(iso).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        }
+    }
+
+    // employeeId -> user id in chunked IN queries; unknown ids are reported once each
+    private Map<LocalDate, List<UserScans>> resolveEmployees(Map<EmployeeDay, DayScans> days, ImportErrors errors) {
+        List<String> employeeIds = days.keySet().stream().map(EmployeeDay::employeeId).distinct().toList();
+        Map<String, UUID> userIds = new HashMap<>(employeeIds.size() * 2);
+        for (int from = 0; from < employeeIds.size(); from += chunkSize) {
+            for (EmployeeKeyView key : userRepository.findKeysByEmployeeIdIn(
+                    employeeIds.subList(from, Math.min(from + chunkSize, employeeIds.size())))) {
+                userIds.put(key.getEmployeeId(), key.getId());
+            }
+        }
+
+        Map<LocalDate, List<UserScans>> byDate = new TreeMap<>();
+        Set<String> unknown = new HashSet<>();
+        days.forEach((key, scans) -> {
+            UUID userId = userIds.get(key.employeeId());
+            if (userId != null) {
+                byDate.computeIfAbsent(key.date(), date -> new ArrayList<>())
+                        .add(new UserScans(userId, key.employeeId(), scans));
+            } else if (unknown.add(key.employeeId())) {
+                errors.add(scans.firstLine, "Unknown employeeId: " + key.employeeId());
+            }
+        });
+        return byDate;
+    }
+
+    private ChunkResult writeChunk(LocalDate date, List<UserScans> chunk, ImportErrors errors) {
+        Map<UUID, StoredRow> stored = new HashMap<>(chunk.size() * 2);
+        attendanceJdbcRepository.lockDayRows(date, chunk.stream().map(UserScans::userId).toList(), rs -> stored.put(
+                rs.getObject("user_id", UUID.class),
+                new StoredRow(rs.getObject("id", UUID.class),
+                        toLocalDateTime(rs.getTimestamp("check_in_time")),
+                        toLocalDateTime(rs.getTimestamp("check_out_time")),
+                        rs.getBoolean("late_approved"))));
+
+        List<Attendance> inserts = new ArrayList<>();
+        List<Attendance> updates = new ArrayList<>();
+        for (UserScans user : chunk) {
+            StoredRow row = stored.get(user.userId());
+            LocalDateTime checkIn = earliest(row != null ? row.checkInTime() : null, user.scans().firstIn);
+            LocalDateTime checkOut = latest(row != null ? row.checkOutTime() : null, user.scans().lastOut);
+
+            if (checkIn == null) {
+                errors.add(user.scans().firstLine,
+                        "Check-out of " + user.employeeId() + " on " + date + " without a check-in");
+                continue;
+            }
+            if (checkOut != null && !checkOut.isAfter(checkIn)) {
+                errors.add(user.scans().firstLine,
+                        "Check-out of " + user.employeeId() + " on " + date + " is not after the check-in");
+                checkOut = row != null ? row.checkOutTime() : null;
+            }
+            if (row != null && checkIn.equals(row.checkInTime()) && Objects.equals(checkOut, row.checkOutTime())) {
+                continue;
+            }
+
+            Attendance attendance = Attendance.builder()
+                    .id(row != null ? row.id() : UUID.randomUUID())
+                    .user(userRef(user.userId()))
+                    .date(date)
+                    .checkInTime(checkIn)
+                    .checkOutTime(checkOut)
+                    .status(AttendanceServiceImpl.determineStatus(checkIn.toLocalTime()))
+                    .totalHours(checkOut != null ? AttendanceServiceImpl.calculateTotalHours(checkIn, checkOut) : 0.0)
+                    .lateApproved(row != null && row.lateApproved())
+                    .build();
+            (row != null ? updates : inserts).add(attendance);
+        }
+
+        int inserted = attendanceJdbcRepository.insertScanned(inserts);
+        int updated = attendanceJdbcRepository.updateScanned(updates);
+
+        inserts.forEach(this::recordOnBoard);
+        updates.forEach(this::recordOnBoard);
+        return new ChunkResult(inserted, updated, inserts.size() - inserted);
+    }
+
+    // Applied by the board after the chunk commits; ignored unless the date is today
+    private void recordOnBoard(Attendance a) {
+        UUID userId = a.getUser().getId();
+        todayAttendanceBoard.recordCheckIn(a.getDate(), userId, a.getId(), a.getCheckInTime(), a.getStatus());
+        if (a.getCheckOutTime() != null) {
+            todayAttendanceBoard.recordCheckOut(a.getDate(), userId, a.getCheckOutTime(), a.getTotalHours(), a.getStatus());
+        }
+        if (a.isLateApproved()) {
+            todayAttendanceBoard.recordLateApproval(a.getDate(), userId);
+        }
+    }
+
+    private static User userRef(UUID userId) {
+        User user = new User();
+        user.setId(userId);
+        return user;
+    }
+
+    private static LocalDateTime earliest(LocalDateTime a, LocalDateTime b) {
+        return a == null ? b : b == null || a.isBefore(b) ? a : b;
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        return a == null ? b : b == null || a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
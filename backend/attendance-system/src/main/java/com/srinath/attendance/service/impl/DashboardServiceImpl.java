@@ -3,90 +3,105 @@ package com.srinath.attendance.service.impl;
 import com.srinath.attendance.dto.response.EmployeeDashboardResponse;
 import com.srinath.attendance.dto.response.ManagerDashboardResponse;
 import com.srinath.attendance.dto.response.MonthlyAttendanceSummaryDTO;
-import com.srinath.attendance.entity.Attendance;
 import com.srinath.attendance.entity.AttendanceStatus;
-import com.srinath.attendance.entity.User;
 import com.srinath.attendance.exception.UserNotFoundException;
 import com.srinath.attendance.repository.AttendanceRepository;
+import com.srinath.attendance.repository.DailyAttendanceRollupRepository;
 import com.srinath.attendance.repository.UserRepository;
+import com.srinath.attendance.repository.projection.DailyAttendanceView;
+import com.srinath.attendance.repository.projection.DailyStatusAggregate;
+import com.srinath.attendance.repository.projection.DepartmentHeadcount;
+import com.srinath.attendance.repository.projection.DepartmentStatusAggregate;
+import com.srinath.attendance.repository.projection.StatusAggregate;
 import com.srinath.attendance.service.DashboardService;
-import lombok.RequiredArgsConstructor;
+import com.srinath.attendance.service.TodayAttendanceBoard;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 @Transactional(readOnly = true)
 @Slf4j
 public class DashboardServiceImpl implements DashboardService {
 
     private final AttendanceRepository attendanceRepository;
     private final UserRepository userRepository;
+    private final DailyAttendanceRollupRepository rollupRepository;
+    private final TodayAttendanceBoard todayAttendanceBoard;
+    private final int absentListLimit;
+
+    public DashboardServiceImpl(AttendanceRepository attendanceRepository,
+                                UserRepository userRepository,
+                                DailyAttendanceRollupRepository rollupRepository,
+                                TodayAttendanceBoard todayAttendanceBoard,
+                                @Value("${attendance.dashboard.absent-list-limit:50}") int absentListLimit) {
+        this.attendanceRepository = attendanceRepository;
+        this.userRepository = userRepository;
+        this.rollupRepository = rollupRepository;
+        this.todayAttendanceBoard = todayAttendanceBoard;
+        this.absentListLimit = absentListLimit;
+    }
 
     @Override
     public EmployeeDashboardResponse getEmployeeDashboard(UUID userId) {
         log.info("Fetching employee dashboard for user: {}", userId);
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("User not found"));
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException("User not found");
+        }
 
         LocalDate today = LocalDate.now();
         LocalDate monthStart = today.withDayOfMonth(1);
 
-        // Get today's attendance
-        Optional<Attendance> todayAttendance = attendanceRepository.findByUserIdAndDate(userId, today);
-        String todayStatus = todayAttendance
-                .map(a -> a.getStatus().name())
-                .orElse("NO_CHECK_IN");
-
-        // Get monthly stats
-        List<Attendance> monthlyAttendances = attendanceRepository
-                .findByUserIdAndDateBetween(userId, monthStart, today, org.springframework.data.domain.Pageable.unpaged())
-                .getContent();
-
-        int presentCount = (int) monthlyAttendances.stream()
-                .filter(a -> a.getStatus() == AttendanceStatus.PRESENT).count();
-        int absentCount = (int) monthlyAttendances.stream()
-                .filter(a -> a.getStatus() == AttendanceStatus.ABSENT).count();
-        int lateCount = (int) monthlyAttendances.stream()
-                .filter(a -> a.getStatus() == AttendanceStatus.LATE).count();
-        int halfDayCount = (int) monthlyAttendances.stream()
-                .filter(a -> a.getStatus() == AttendanceStatus.HALF_DAY).count();
-
-        double totalHours = monthlyAttendances.stream()
-                .mapToDouble(Attendance::getTotalHours)
-                .sum();
+        // Get monthly stats (one row per status)
+        Map<AttendanceStatus, StatusAggregate> monthly = byStatus(
+                attendanceRepository.aggregateByStatusForUser(userId, monthStart, today));
 
-        // Get last 7 days
+        // Get last 7 days, which also covers today's status
         LocalDate sevenDaysAgo = today.minusDays(7);
-        List<EmployeeDashboardResponse.DailyAttendanceDTO> last7Days = attendanceRepository
-                .findByUserIdAndDateBetween(userId, sevenDaysAgo, today, org.springframework.data.domain.Pageable.unpaged())
-                .getContent()
-                .stream()
-                .map(a -> EmployeeDashboardResponse.DailyAttendanceDTO.builder()
-                        .date(a.getDate())
-                        .status(a.getStatus())
-                        .hoursWorked(a.getTotalHours())
+        List<DailyAttendanceView> recentDays = attendanceRepository
+                .findDailyViewsByUserIdAndDateBetween(userId, sevenDaysAgo, today);
+
+        String todayStatus = todayAttendanceBoard.isEnabled()
+                ? todayAttendanceBoard.findToday(userId)
+                        .map(entry -> entry.status().name())
+                        .orElse("NO_CHECK_IN")
+                : recentDays.stream()
+                        .filter(day -> today.equals(day.getDate()))
+                        .findFirst()
+                        .map(day -> day.getStatus().name())
+                        .orElse("NO_CHECK_IN");
+
+        List<EmployeeDashboardResponse.DailyAttendanceDTO> last7Days = recentDays.stream()
+                .map(day -> EmployeeDashboardResponse.DailyAttendanceDTO.builder()
+                        .date(day.getDate())
+                        .status(day.getStatus())
+                        .hoursWorked(day.getTotalHours())
                         .build())
-                .sorted(Comparator.comparing(EmployeeDashboardResponse.DailyAttendanceDTO::getDate))
                 .collect(Collectors.toList());
 
         return EmployeeDashboardResponse.builder()
                 .todayStatus(todayStatus)
-                .presentCount(presentCount)
-                .absentCount(absentCount)
-                .lateCount(lateCount)
-                .halfDayCount(halfDayCount)
-                .totalHoursThisMonth(totalHours)
+                .presentCount(count(monthly, AttendanceStatus.PRESENT))
+                .absentCount(count(monthly, AttendanceStatus.ABSENT))
+                .lateCount(count(monthly, AttendanceStatus.LATE))
+                .halfDayCount(count(monthly, AttendanceStatus.HALF_DAY))
+                .totalHoursThisMonth(totalHours(monthly))
                 .last7DaysAttendance(last7Days)
                 .build();
     }
@@ -97,40 +112,45 @@ public class DashboardServiceImpl implements DashboardService {
 
         LocalDate today = LocalDate.now();
 
-        // Get all employees
-        List<User> allEmployees = userRepository.findAllEmployees();
-        int totalEmployees = allEmployees.size();
-
-        // Get today's attendance
-        List<Attendance> todayAttendances = attendanceRepository.findByDate(today, org.springframework.data.domain.Pageable.unpaged()).getContent();
+        int totalEmployees = (int) userRepository.countEmployees();
 
-        int presentToday = (int) todayAttendances.stream()
-                .filter(a -> a.getStatus() == AttendanceStatus.PRESENT).count();
-        int absentToday = (int) todayAttendances.stream()
-                .filter(a -> a.getStatus() == AttendanceStatus.ABSENT).count();
-        int lateToday = (int) todayAttendances.stream()
-                .filter(a -> a.getStatus() == AttendanceStatus.LATE).count();
+        // Get today's counts in a single grouped query
+        Map<AttendanceStatus, StatusAggregate> todayCounts = byStatus(
+                attendanceRepository.aggregateByStatusForDate(today));
 
         // Weekly trend (last 7 days)
-        List<ManagerDashboardResponse.WeeklyTrendDTO> weeklyTrend = getWeeklyTrend();
+        List<ManagerDashboardResponse.WeeklyTrendDTO> weeklyTrend = getWeeklyTrend(today);
 
         // Department stats
-        List<ManagerDashboardResponse.DepartmentStatDTO> departmentStats = getDepartmentStats(todayAttendances);
+        List<ManagerDashboardResponse.DepartmentStatDTO> departmentStats = getDepartmentStats(today);
 
-        // Absent employees today
-        List<ManagerDashboardResponse.AbsentEmployeeDTO> absentEmployees = getAbsentEmployeesToday(allEmployees, todayAttendances);
+        // Absent employees today (first page only; the full list is paginated separately)
+        Page<ManagerDashboardResponse.AbsentEmployeeDTO> absentEmployees =
+                getAbsentEmployees(today, PageRequest.of(0, absentListLimit));
 
         return ManagerDashboardResponse.builder()
                 .totalEmployees(totalEmployees)
-                .presentToday(presentToday)
-                .absentToday(absentToday)
-                .lateToday(lateToday)
+                .presentToday(count(todayCounts, AttendanceStatus.PRESENT))
+                .absentToday(count(todayCounts, AttendanceStatus.ABSENT))
+                .lateToday(count(todayCounts, AttendanceStatus.LATE))
                 .weeklyTrend(weeklyTrend)
                 .departmentStats(departmentStats)
-                .absentEmployeesToday(absentEmployees)
+                .absentEmployeesToday(absentEmployees.getContent())
+                .absentEmployeesTotal(absentEmployees.getTotalElements())
                 .build();
     }
 
+    @Override
+    public Page<ManagerDashboardResponse.AbsentEmployeeDTO> getAbsentEmployees(LocalDate date, Pageable pageable) {
+        return userRepository.findEmployeesWithoutAttendance(date, pageable)
+                .map(emp -> ManagerDashboardResponse.AbsentEmployeeDTO.builder()
+                        .name(emp.getName())
+                        .employeeId(emp.getEmployeeId())
+                        .departmentName(emp.getDepartmentName())
+                        .email(emp.getEmail())
+                        .build());
+    }
+
     @Override
     public MonthlyAttendanceSummaryDTO getMonthlyAttendanceSummary(UUID userId, YearMonth yearMonth) {
         log.info("Fetching monthly summary for user {} for month {}", userId, yearMonth);
@@ -138,22 +158,14 @@ public class DashboardServiceImpl implements DashboardService {
         LocalDate startDate = yearMonth.atDay(1);
         LocalDate endDate = yearMonth.atEndOfMonth();
 
-        List<Attendance> attendances = attendanceRepository
-                .findByUserIdAndDateBetween(userId, startDate, endDate, org.springframework.data.domain.Pageable.unpaged())
-                .getContent();
-
-        int presentDays = (int) attendances.stream()
-                .filter(a -> a.getStatus() == AttendanceStatus.PRESENT).count();
-        int absentDays = (int) attendances.stream()
-                .filter(a -> a.getStatus() == AttendanceStatus.ABSENT).count();
-        int lateDays = (int) attendances.stream()
-                .filter(a -> a.getStatus() == AttendanceStatus.LATE).count();
-        int halfDayCount = (int) attendances.stream()
-                .filter(a -> a.getStatus() == AttendanceStatus.HALF_DAY).count();
-
-        double totalHours = attendances.stream()
-                .mapToDouble(Attendance::getTotalHours)
-                .sum();
+        Map<AttendanceStatus, StatusAggregate> monthly = byStatus(
+                attendanceRepository.aggregateByStatusForUser(userId, startDate, endDate));
+
+        int presentDays = count(monthly, AttendanceStatus.PRESENT);
+        int absentDays = count(monthly, AttendanceStatus.ABSENT);
+        int lateDays = count(monthly, AttendanceStatus.LATE);
+        int halfDayCount = count(monthly, AttendanceStatus.HALF_DAY);
+        double totalHours = totalHours(monthly);
 
         // Calculate working days (approx 22 per month)
         int workingDays = 22;
@@ -172,27 +184,89 @@ public class DashboardServiceImpl implements DashboardService {
                 .build();
     }
 
-    private List<ManagerDashboardResponse.WeeklyTrendDTO> getWeeklyTrend() {
-        return (List) java.util.Collections.emptyList();
-        // TODO: Implement weekly trend calculation
+    // Reads the rollup table: O(days x departments x statuses) rows, independent of attendance volume
+    private List<ManagerDashboardResponse.WeeklyTrendDTO> getWeeklyTrend(LocalDate today) {
+        LocalDate weekStart = today.minusDays(6);
+
+        Map<LocalDate, Map<AttendanceStatus, Long>> countsByDate = new TreeMap<>();
+        for (LocalDate day = weekStart; !day.isAfter(today); day = day.plusDays(1)) {
+            countsByDate.put(day, new EnumMap<>(AttendanceStatus.class));
+        }
+        for (DailyStatusAggregate row : rollupRepository.sumByDateAndStatus(weekStart, today)) {
+            countsByDate.get(row.getDate()).merge(row.getStatus(), row.getCount(), Long::sum);
+        }
+
+        return countsByDate.entrySet().stream()
+                .map(entry -> ManagerDashboardResponse.WeeklyTrendDTO.builder()
+                        .date(entry.getKey().toString())
+                        .present(entry.getValue().getOrDefault(AttendanceStatus.PRESENT, 0L).intValue())
+                        .absent(entry.getValue().getOrDefault(AttendanceStatus.ABSENT, 0L).intValue())
+                        .late(entry.getValue().getOrDefault(AttendanceStatus.LATE, 0L).intValue())
+                        .build())
+                .collect(Collectors.toList());
     }
 
-    private List<ManagerDashboardResponse.DepartmentStatDTO> getDepartmentStats(List<Attendance> todayAttendances) {
-        return (List) java.util.Collections.emptyList();
-        // TODO: Implement department stats aggregation
+    private List<ManagerDashboardResponse.DepartmentStatDTO> getDepartmentStats(LocalDate date) {
+        Map<UUID, DepartmentTotals> totals = new HashMap<>();
+
+        for (DepartmentHeadcount headcount : userRepository.countEmployeesByDepartment()) {
+            totals.computeIfAbsent(headcount.getDepartmentId(), id -> new DepartmentTotals(headcount.getDepartmentName()))
+                    .employees = headcount.getCount();
+        }
+        for (DepartmentStatusAggregate row : rollupRepository.findByDate(date)) {
+            DepartmentTotals department = totals.computeIfAbsent(
+                    row.getDepartmentId(), id -> new DepartmentTotals(row.getDepartmentName()));
+            department.byStatus.put(row.getStatus(), row.getCount());
+            department.hours += row.getTotalHours();
+        }
+
+        return totals.values().stream()
+                .sorted(Comparator.comparing(department -> department.name))
+                .map(department -> {
+                    long attended = department.count(AttendanceStatus.PRESENT)
+                            + department.count(AttendanceStatus.LATE)
+                            + department.count(AttendanceStatus.HALF_DAY);
+                    return ManagerDashboardResponse.DepartmentStatDTO.builder()
+                            .departmentName(department.name)
+                            .totalEmployees((int) department.employees)
+                            .presentToday((int) department.count(AttendanceStatus.PRESENT))
+                            .absentToday((int) department.count(AttendanceStatus.ABSENT))
+                            .lateToday((int) department.count(AttendanceStatus.LATE))
+                            .averageHoursWorked(attended > 0 ? department.hours / attended : 0.0)
+                            .build();
+                })
+                .collect(Collectors.toList());
     }
 
-    private List<ManagerDashboardResponse.AbsentEmployeeDTO> getAbsentEmployeesToday(
-            List<User> allEmployees, List<Attendance> todayAttendances) {
-        return allEmployees.stream()
-                .filter(emp -> todayAttendances.stream()
-                        .noneMatch(a -> a.getUser().getId().equals(emp.getId())))
-                .map(emp -> ManagerDashboardResponse.AbsentEmployeeDTO.builder()
-                        .name(emp.getName())
-                        .employeeId(emp.getEmployeeId())
-                        .departmentName(emp.getDepartment().getName())
-                        .email(emp.getEmail())
-                        .build())
-                .collect(Collectors.toList());
+    private static Map<AttendanceStatus, StatusAggregate> byStatus(List<StatusAggregate> aggregates) {
+        Map<AttendanceStatus, StatusAggregate> byStatus = new EnumMap<>(AttendanceStatus.class);
+        aggregates.forEach(aggregate -> byStatus.put(aggregate.getStatus(), aggregate));
+        return byStatus;
+    }
+
+    private static int count(Map<AttendanceStatus, StatusAggregate> byStatus, AttendanceStatus status) {
+        StatusAggregate aggregate = byStatus.get(status);
+        return aggregate != null ? (int) aggregate.getCount() : 0;
+    }
+
+    private static double totalHours(Map<AttendanceStatus, StatusAggregate> byStatus) {
+        return byStatus.values().stream()
+                .mapToDouble(StatusAggregate::getTotalHours)
+                .sum();
+    }
+
+    private static class DepartmentTotals {
+        private final String name;
+        private final Map<AttendanceStatus, Long> byStatus = new EnumMap<>(AttendanceStatus.class);
+        private long employees;
+        private double hours;
+
+        private DepartmentTotals(String name) {
+            this.name = name;
+        }
+
+        private long count(AttendanceStatus status) {
+            return byStatus.getOrDefault(status, 0L);
+        }
     }
 }
@@ -0,0 +1,175 @@
+package com.srinath.attendance.service.impl;
+
+import com.srinath.attendance.entity.JobLease;
+import com.srinath.attendance.entity.JobPartition;
+import com.srinath.attendance.entity.JobPartitionStatus;
+import com.srinath.attendance.repository.JobLeaseRepository;
+import com.srinath.attendance.repository.JobPartitionRepository;
+import com.srinath.attendance.service.JobCoordinationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+// Lease and partition bookkeeping; every call commits on its own so other nodes see it immediately
+@Service
+@Slf4j
+public class JobCoordinationServiceImpl implements JobCoordinationService {
+
+    private final JobLeaseRepository jobLeaseRepository;
+    private final JobPartitionRepository jobPartitionRepository;
+    private final TransactionTemplate tx;
+    private final String nodeId;
+    private final int maxAttempts;
+
+    public JobCoordinationServiceImpl(JobLeaseRepository jobLeaseRepository,
+                                      JobPartitionRepository jobPartitionRepository,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${attendance.scheduler.node-id:}") String configuredNodeId,
+                                      @Value("${attendance.scheduler.max-attempts:3}") int maxAttempts) {
+        this.jobLeaseRepository = jobLeaseRepository;
+        this.jobPartitionRepository = jobPartitionRepository;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.nodeId = configuredNodeId.isBlank() ? defaultNodeId() : configuredNodeId;
+        this.maxAttempts = maxAttempts;
+        log.info("Job coordination node id: {}", nodeId);
+    }
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public boolean tryAcquireLease(String jobName, Duration leaseDuration) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plus(leaseDuration);
+
+        Integer updated = tx.execute(status -> jobLeaseRepository.tryAcquire(jobName, nodeId, now, until));
+        if (updated != null && updated == 1) {
+            return true;
+        }
+
+        // First run for this job: whoever inserts the row owns the lease
+        try {
+            tx.executeWithoutResult(status -> {
+                if (!jobLeaseRepository.existsById(jobName)) {
+                    jobLeaseRepository.saveAndFlush(JobLease.builder()
+                            .jobName(jobName)
+                            .owner(nodeId)
+                            .leaseUntil(until)
+                            .acquiredAt(now)
+                            .build());
+                } else {
+                    throw new LeaseHeldException();
+                }
+            });
+            return true;
+        } catch (LeaseHeldException | DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void releaseLease(String jobName) {
+        tx.executeWithoutResult(status -> jobLeaseRepository.release(jobName, nodeId, LocalDateTime.now()));
+    }
+
+    @Override
+    public int seedPartitions(String jobName, LocalDate runDate, Collection<String> partitionKeys) {
+        if (hasPartitions(jobName, runDate)) {
+            return 0;
+        }
+        try {
+            tx.executeWithoutResult(status -> jobPartitionRepository.saveAllAndFlush(partitionKeys.stream()
+                    .map(key -> JobPartition.builder()
+                            .jobName(jobName)
+                            .runDate(runDate)
+                            .partitionKey(key)
+                            .status(JobPartitionStatus.PENDING)
+                            .build())
+                    .toList()));
+            return partitionKeys.size();
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Partitions for {} on {} were seeded concurrently", jobName, runDate);
+            return 0;
+        }
+    }
+
+    @Override
+    public boolean hasPartitions(String jobName, LocalDate runDate) {
+        return jobPartitionRepository.countByJobNameAndRunDate(jobName, runDate) > 0;
+    }
+
+    @Override
+    public Optional<ClaimedPartition> claimNext(String jobName, LocalDate runDate, Duration claimDuration) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plus(claimDuration);
+
+        for (UUID candidate : jobPartitionRepository.findClaimable(jobName, runDate, now, maxAttempts)) {
+            Integer claimed = tx.execute(status -> jobPartitionRepository.tryClaim(candidate, nodeId, now, until, maxAttempts));
+            if (claimed != null && claimed == 1) {
+                return jobPartitionRepository.findById(candidate)
+                        .map(p -> new ClaimedPartition(p.getId(), p.getPartitionKey()));
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean renewClaim(UUID partitionId, Duration claimDuration) {
+        LocalDateTime until = LocalDateTime.now().plus(claimDuration);
+        Integer renewed = tx.execute(status -> jobPartitionRepository.renew(partitionId, nodeId, until));
+        return renewed != null && renewed == 1;
+    }
+
+    @Override
+    public boolean completePartition(UUID partitionId, int rowsProcessed) {
+        return finish(partitionId, JobPartitionStatus.DONE, rowsProcessed);
+    }
+
+    @Override
+    public boolean failPartition(UUID partitionId) {
+        return finish(partitionId, JobPartitionStatus.FAILED, 0);
+    }
+
+    @Override
+    public long countRemaining(String jobName, LocalDate runDate) {
+        return jobPartitionRepository.countOpen(jobName, runDate, maxAttempts);
+    }
+
+    private boolean finish(UUID partitionId, JobPartitionStatus outcome, int rowsProcessed) {
+        Integer updated = tx.execute(status -> jobPartitionRepository.complete(
+                partitionId, nodeId, outcome, rowsProcessed, LocalDateTime.now()));
+        if (updated == null || updated == 0) {
+            log.warn("Node {} no longer owns partition {}; {} not recorded", nodeId, partitionId, outcome);
+            return false;
+        }
+        return true;
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    private static class LeaseHeldException extends RuntimeException {
+    }
+}
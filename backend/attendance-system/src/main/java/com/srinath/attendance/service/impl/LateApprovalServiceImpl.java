@@ -0,0 +1,145 @@
+package com.srinath.attendance.service.impl;
+
+import com.srinath.attendance.dto.request.BulkLateApprovalRequest;
+import com.srinath.attendance.dto.response.BulkLateApprovalResponse;
+import com.srinath.attendance.dto.response.BulkLateApprovalResponse.Outcome;
+import com.srinath.attendance.dto.response.BulkLateApprovalResponse.Result;
+import com.srinath.attendance.entity.AttendanceStatus;
+import com.srinath.attendance.exception.InvalidAttendanceStateException;
+import com.srinath.attendance.repository.AttendanceJdbcRepository;
+import com.srinath.attendance.repository.AttendanceJdbcRepository.ApprovalRow;
+import com.srinath.attendance.service.AttendanceRollupService;
+import com.srinath.attendance.service.LateApprovalService;
+import com.srinath.attendance.service.TodayAttendanceBoard;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+// Set-based late approval: each chunk is one locking SELECT plus one UPDATE, and the rollup
+// rows of the touched dates are rebuilt in the same transaction
+@Service
+@Slf4j
+public class LateApprovalServiceImpl implements LateApprovalService {
+
+    // Lowest UUID: keyset start for filter mode
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+
+    private final AttendanceJdbcRepository attendanceJdbcRepository;
+    private final AttendanceRollupService attendanceRollupService;
+    private final TodayAttendanceBoard todayAttendanceBoard;
+    private final TransactionTemplate chunkTransaction;
+    private final int chunkSize;
+
+    public LateApprovalServiceImpl(AttendanceJdbcRepository attendanceJdbcRepository,
+                                   AttendanceRollupService attendanceRollupService,
+                                   TodayAttendanceBoard todayAttendanceBoard,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${attendance.late-approval.chunk-size:500}") int chunkSize) {
+        this.attendanceJdbcRepository = attendanceJdbcRepository;
+        this.attendanceRollupService = attendanceRollupService;
+        this.todayAttendanceBoard = todayAttendanceBoard;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public BulkLateApprovalResponse approveLate(BulkLateApprovalRequest request, UUID approvedBy) {
+        List<UUID> ids = request.getAttendanceIds();
+        boolean byIds = ids != null && !ids.isEmpty();
+        if (!byIds && request.getDate() == null) {
+            throw new InvalidAttendanceStateException("Provide either attendanceIds or a date filter");
+        }
+
+        List<Outcome> outcomes = byIds
+                ? approveIds(new ArrayList<>(new LinkedHashSet<>(ids)), request.getDate(), approvedBy)
+                : approveFiltered(request, approvedBy);
+
+        Map<Result, Integer> totals = new HashMap<>();
+        outcomes.forEach(outcome -> totals.merge(outcome.getResult(), 1, Integer::sum));
+        log.info("Bulk late approval by {}: {} approved, {} already approved, {} not found",
+                approvedBy, totals.getOrDefault(Result.APPROVED, 0),
+                totals.getOrDefault(Result.ALREADY_APPROVED, 0), totals.getOrDefault(Result.NOT_FOUND, 0));
+
+        return BulkLateApprovalResponse.builder()
+                .approved(totals.getOrDefault(Result.APPROVED, 0))
+                .alreadyApproved(totals.getOrDefault(Result.ALREADY_APPROVED, 0))
+                .notFound(totals.getOrDefault(Result.NOT_FOUND, 0))
+                .outcomes(outcomes)
+                .build();
+    }
+
+    private List<Outcome> approveIds(List<UUID> ids, LocalDate date, UUID approvedBy) {
+        List<Outcome> outcomes = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            outcomes.addAll(chunkTransaction.execute(status -> {
+                Map<UUID, ApprovalRow> rows = new HashMap<>();
+                attendanceJdbcRepository.lockForApproval(chunk, date).forEach(row -> rows.put(row.id(), row));
+
+                List<ApprovalRow> pending = rows.values().stream().filter(row -> !row.lateApproved()).toList();
+                apply(pending, approvedBy, null);
+
+                List<Outcome> result = new ArrayList<>(chunk.size());
+                for (UUID id : chunk) {
+                    ApprovalRow row = rows.get(id);
+                    result.add(new Outcome(id, row == null ? Result.NOT_FOUND
+                            : row.lateApproved() ? Result.ALREADY_APPROVED : Result.APPROVED));
+                }
+                return result;
+            }));
+        }
+        return outcomes;
+    }
+
+    private List<Outcome> approveFiltered(BulkLateApprovalRequest request, UUID approvedBy) {
+        AttendanceStatus status = request.getStatus() != null ? request.getStatus() : AttendanceStatus.LATE;
+        List<Outcome> outcomes = new ArrayList<>();
+        UUID afterId = MIN_ID;
+
+        while (true) {
+            UUID after = afterId;
+            List<ApprovalRow> chunk = chunkTransaction.execute(tx -> {
+                List<ApprovalRow> rows = attendanceJdbcRepository.lockUnapproved(
+                        request.getDate(), status, request.getDepartmentId(), after, chunkSize);
+                apply(rows, approvedBy, request.getDepartmentId());
+                return rows;
+            });
+
+            chunk.forEach(row -> outcomes.add(new Outcome(row.id(), Result.APPROVED)));
+            if (chunk.size() < chunkSize) {
+                return outcomes;
+            }
+            afterId = chunk.get(chunk.size() - 1).id();
+        }
+    }
+
+    // Rows are locked by the caller, so every one of them is updated here
+    private void apply(List<ApprovalRow> rows, UUID approvedBy, UUID departmentId) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        attendanceJdbcRepository.approveLate(rows, approvedBy, LocalDateTime.now());
+
+        Set<LocalDate> dates = new LinkedHashSet<>();
+        for (ApprovalRow row : rows) {
+            dates.add(row.date());
+            todayAttendanceBoard.recordLateApproval(row.date(), row.userId());
+        }
+        dates.forEach(date -> attendanceRollupService.refresh(date, departmentId));
+    }
+}
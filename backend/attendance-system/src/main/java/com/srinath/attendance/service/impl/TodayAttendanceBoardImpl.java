@@ -0,0 +1,225 @@
+package com.srinath.attendance.service.impl;
+
+import com.srinath.attendance.board.DayAttendanceIndex;
+import com.srinath.attendance.entity.AttendanceStatus;
+import com.srinath.attendance.repository.AttendanceJdbcRepository;
+import com.srinath.attendance.repository.AttendanceRepository;
+import com.srinath.attendance.service.TodayAttendanceBoard;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+// Today's attendance held in memory: loaded at startup and day rollover, updated by the
+// check-in/check-out/approval/absent-marking writes once they commit, and periodically
+// reconciled against grouped counts from the database. Writes made by other nodes are only
+// picked up by that reconciliation, so keep the verify interval short when running several.
+@Service
+@Slf4j
+public class TodayAttendanceBoardImpl implements TodayAttendanceBoard {
+
+    private final AttendanceJdbcRepository attendanceJdbcRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final boolean enabled;
+    private final boolean writeBehind;
+    private final int expectedSize;
+    private final Counter mismatches;
+
+    private volatile DayAttendanceIndex index;
+
+    public TodayAttendanceBoardImpl(AttendanceJdbcRepository attendanceJdbcRepository,
+                                    AttendanceRepository attendanceRepository,
+                                    ObjectProvider<MeterRegistry> meterRegistry,
+                                    @Value("${attendance.today-board.enabled:false}") boolean enabled,
+                                    @Value("${attendance.ingestion.enabled:false}") boolean writeBehind,
+                                    @Value("${attendance.today-board.expected-size:1024}") int expectedSize) {
+        this.attendanceJdbcRepository = attendanceJdbcRepository;
+        this.attendanceRepository = attendanceRepository;
+        // Queued ingestion validates against the board, so it implies the board
+        this.enabled = enabled || writeBehind;
+        this.writeBehind = writeBehind;
+        this.expectedSize = expectedSize;
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null && this.enabled) {
+            Gauge.builder("attendance.today_board.entries", this, board -> board.index != null ? board.index.size() : 0)
+                    .description("Users with an attendance entry on today's board")
+                    .register(registry);
+            this.mismatches = Counter.builder("attendance.today_board.mismatches")
+                    .description("Consistency checks that found the board out of sync with the database")
+                    .register(registry);
+        } else {
+            this.mismatches = null;
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (enabled) {
+            today();
+        }
+    }
+
+    // Builds the new day's board ahead of the first request
+    @Scheduled(cron = "${attendance.today-board.rollover-cron:0 0 0 * * *}")
+    public void rollover() {
+        if (enabled) {
+            today();
+        }
+    }
+
+    @Override
+    public DayAttendanceIndex today() {
+        LocalDate date = LocalDate.now();
+        DayAttendanceIndex current = index;
+        if (current != null && current.getDate().equals(date)) {
+            return current;
+        }
+
+        synchronized (this) {
+            current = index;
+            if (current == null || !current.getDate().equals(date)) {
+                current = load(date);
+                index = current;
+            }
+            return current;
+        }
+    }
+
+    @Override
+    public Optional<DayAttendanceIndex.Entry> findToday(UUID userId) {
+        return today().get(userId);
+    }
+
+    @Override
+    public EnumMap<AttendanceStatus, Long> countTodayByStatus() {
+        return today().countsByStatus();
+    }
+
+    @Override
+    public void recordCheckIn(LocalDate date, UUID userId, UUID attendanceId,
+                              LocalDateTime checkInTime, AttendanceStatus status) {
+        afterCommit(date, board -> board.put(userId,
+                new DayAttendanceIndex.Entry(attendanceId, status, checkInTime, null, 0.0, false)));
+    }
+
+    @Override
+    public void recordCheckOut(LocalDate date, UUID userId, LocalDateTime checkOutTime,
+                               double totalHours, AttendanceStatus status) {
+        afterCommit(date, board -> board.checkOut(userId, checkOutTime, totalHours, status));
+    }
+
+    @Override
+    public void recordLateApproval(LocalDate date, UUID userId) {
+        afterCommit(date, board -> board.approveLate(userId));
+    }
+
+    @Override
+    public void recordAbsent(LocalDate date, Map<UUID, UUID> attendanceIdsByUser) {
+        afterCommit(date, board -> attendanceIdsByUser.forEach((userId, attendanceId) ->
+                board.add(userId, new DayAttendanceIndex.Entry(attendanceId, AttendanceStatus.ABSENT, null, null, 0.0, false))));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${attendance.today-board.verify-interval-ms:300000}",
+            initialDelayString = "${attendance.today-board.verify-interval-ms:300000}")
+    public boolean verify() {
+        if (!enabled || index == null) {
+            return true;
+        }
+
+        DayAttendanceIndex current = today();
+        EnumMap<AttendanceStatus, Long> expected = attendanceRepository.countByStatusForDate(current.getDate());
+
+        EnumMap<AttendanceStatus, Long> actual = current.countsByStatus();
+        if (expected.equals(actual)) {
+            return true;
+        }
+
+        if (writeBehind) {
+            // The database trails the board by the unflushed queue; that is expected
+            log.debug("Today board ahead of the database (board={}, db={})", actual, expected);
+            return false;
+        }
+
+        log.warn("Today board out of sync (board={}, db={}), reloading", actual, expected);
+        if (mismatches != null) {
+            mismatches.increment();
+        }
+        synchronized (this) {
+            if (index == current) {
+                index = load(current.getDate());
+            }
+        }
+        return false;
+    }
+
+    // Applies the change once the surrounding transaction commits (immediately without one);
+    // writes for any other day than the board's are ignored
+    private void afterCommit(LocalDate date, Consumer<DayAttendanceIndex> change) {
+        if (!enabled) {
+            return;
+        }
+
+        Runnable apply = () -> {
+            DayAttendanceIndex board = today();
+            if (board.getDate().equals(date)) {
+                change.accept(board);
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    private DayAttendanceIndex load(LocalDate date) {
+        long start = System.nanoTime();
+        DayAttendanceIndex board = new DayAttendanceIndex(date, expectedSize);
+        attendanceJdbcRepository.findDayEntries(date, rs -> board.put(
+                rs.getObject("user_id", UUID.class),
+                new DayAttendanceIndex.Entry(
+                        rs.getObject("id", UUID.class),
+                        AttendanceStatus.valueOf(rs.getString("status")),
+                        toLocalDateTime(rs.getTimestamp("check_in_time")),
+                        toLocalDateTime(rs.getTimestamp("check_out_time")),
+                        rs.getDouble("total_hours"),
+                        rs.getBoolean("late_approved"))));
+        log.info("Loaded today board for {}: {} entries in {} ms",
+                date, board.size(), (System.nanoTime() - start) / 1_000_000);
+        return board;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,302 @@
+package com.srinath.attendance.service.impl;
+
+import com.srinath.attendance.dto.request.RegisterRequest;
+import com.srinath.attendance.dto.summary.UserImportSummary;
+import com.srinath.attendance.dto.summary.UserImportSummary.RowError;
+import com.srinath.attendance.entity.Department;
+import com.srinath.attendance.entity.Role;
+import com.srinath.attendance.entity.RoleType;
+import com.srinath.attendance.entity.User;
+import com.srinath.attendance.repository.DepartmentRepository;
+import com.srinath.attendance.repository.UserJdbcRepository;
+import com.srinath.attendance.security.BoundedPasswordEncoder;
+import com.srinath.attendance.service.RoleService;
+import com.srinath.attendance.service.UserImportService;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+// Bulk onboarding. The whole file is parsed and validated first (bean validation, duplicate
+// emails, roles and departments resolved once per distinct value); only a clean file goes on.
+// Already registered emails are found with one set query and skipped, the remaining passwords
+// are hashed in parallel on a dedicated fork-join pool, and users are inserted in JDBC batches,
+// one short transaction per batch.
+@Service
+@Slf4j
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final int MAX_PASSWORD_BYTES = 72;
+
+    private final UserJdbcRepository userJdbcRepository;
+    private final DepartmentRepository departmentRepository;
+    private final RoleService roleService;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate batchTransaction;
+    private final ForkJoinPool hashingPool;
+    private final int batchSize;
+    private final int maxRows;
+    private final int maxReportedErrors;
+
+    public UserImportServiceImpl(UserJdbcRepository userJdbcRepository,
+                                 DepartmentRepository departmentRepository,
+                                 RoleService roleService,
+                                 BoundedPasswordEncoder passwordEncoder,
+                                 Validator validator,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${attendance.user-import.batch-size:500}") int batchSize,
+                                 @Value("${attendance.user-import.hash-parallelism:0}") int hashParallelism,
+                                 @Value("${attendance.user-import.max-rows:20000}") int maxRows,
+                                 @Value("${attendance.user-import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.userJdbcRepository = userJdbcRepository;
+        this.departmentRepository = departmentRepository;
+        this.roleService = roleService;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.batchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // Default: half the cores, leaving the rest to the login hashing pool
+        this.hashingPool = new ForkJoinPool(hashParallelism > 0
+                ? hashParallelism
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+        this.batchSize = batchSize;
+        this.maxRows = maxRows;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    private record ImportRow(long line, String email, RegisterRequest request) {
+    }
+
+    private final class ImportErrors {
+        private final List<RowError> reported = new ArrayList<>();
+        private long count;
+
+        private void add(long line, String message) {
+            count++;
+            if (reported.size() < maxReportedErrors) {
+                reported.add(new RowError(line, message));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingPool.shutdownNow();
+    }
+
+    @Override
+    public UserImportSummary importUsers(InputStream body, Format format) throws IOException {
+        long start = System.nanoTime();
+        ImportErrors errors = new ImportErrors();
+        List<ImportRow> rows = new ArrayList<>();
+
+        long lines = 0;
+        Map<String, Long> firstLineByEmail = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 64 * 1024)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines++;
+                if (line.isBlank() || (lines == 1 && format == Format.CSV && isCsvHeader(line))) {
+                    continue;
+                }
+                if (rows.size() >= maxRows) {
+                    errors.add(lines, "More than " + maxRows + " rows; split the file");
+                    break;
+                }
+                try {
+                    RegisterRequest request = format == Format.NDJSON
+                            ? objectMapper.readValue(line, RegisterRequest.class)
+                            : parseCsv(line);
+                    String violations = validate(request);
+                    if (violations != null) {
+                        errors.add(lines, violations);
+                        continue;
+                    }
+
+                    String email = request.getEmail().toLowerCase(Locale.ROOT).trim();
+                    Long firstLine = firstLineByEmail.putIfAbsent(email, lines);
+                    if (firstLine != null) {
+                        errors.add(lines, "Duplicate email " + email + " (first on line " + firstLine + ")");
+                        continue;
+                    }
+                    rows.add(new ImportRow(lines, email, request));
+                } catch (IllegalArgumentException | JacksonException e) {
+                    errors.add(lines, e.getMessage());
+                }
+            }
+        }
+
+        Map<UUID, Department> departments = resolveDepartments(rows, errors);
+        Map<RoleType, Role> roles = resolveRoles(rows, errors);
+
+        if (errors.count > 0) {
+            log.warn("User import rejected: {} errors in {} lines", errors.count, lines);
+            return summary(lines, 0, 0, 0, errors, 0, start);
+        }
+
+        Set<String> existing = userJdbcRepository.findExistingEmails(firstLineByEmail.keySet());
+        List<ImportRow> pending = rows.stream().filter(row -> !existing.contains(row.email())).toList();
+        log.info("User import validated {} rows: {} new, {} already registered", rows.size(), pending.size(), existing.size());
+
+        long hashStart = System.nanoTime();
+        List<String> hashes = hashPasswords(pending);
+        long hashingMillis = (System.nanoTime() - hashStart) / 1_000_000;
+
+        List<User> users = new ArrayList<>(pending.size());
+        for (int i = 0; i < pending.size(); i++) {
+            RegisterRequest request = pending.get(i).request();
+            users.add(User.builder()
+                    .id(UUID.randomUUID())
+                    .name(request.getName())
+                    .email(pending.get(i).email())
+                    .password(hashes.get(i))
+                    .employeeId(AuthServiceImpl.generateEmployeeId())
+                    .role(roles.get(roleOf(request)))
+                    .department(departments.get(request.getDepartmentId()))
+                    .enabled(true)
+                    .build());
+        }
+
+        int created = 0;
+        for (int from = 0; from < users.size(); from += batchSize) {
+            List<User> batch = users.subList(from, Math.min(from + batchSize, users.size()));
+            created += batchTransaction.execute(status -> userJdbcRepository.insertUsers(batch));
+        }
+
+        UserImportSummary summary = summary(lines, created, existing.size(), users.size() - created, errors, hashingMillis, start);
+        log.info("User import finished: {} created, {} skipped, {} conflicts in {} ms ({} ms hashing)",
+                created, existing.size(), users.size() - created, summary.getElapsedMillis(), hashingMillis);
+        return summary;
+    }
+
+    private static boolean isCsvHeader(String line) {
+        return line.strip().toLowerCase(Locale.ROOT).startsWith("name");
+    }
+
+    // name,email,password,departmentId[,role]; fields cannot contain commas (use NDJSON for those)
+    private static RegisterRequest parseCsv(String line) {
+        String[] fields = line.split(",", -1);
+        if (fields.length != 4 && fields.length != 5) {
+            throw new IllegalArgumentException("Expected name,email,password,departmentId[,role] but found "
+                    + fields.length + " fields");
+        }
+
+        RegisterRequest request = new RegisterRequest();
+        request.setName(BadgeScanImportServiceImpl.unquote(fields[0]));
+        request.setEmail(BadgeScanImportServiceImpl.unquote(fields[1]));
+        request.setPassword(BadgeScanImportServiceImpl.unquote(fields[2]));
+        request.setDepartmentId(UUID.fromString(BadgeScanImportServiceImpl.unquote(fields[3])));
+        if (fields.length == 5 && !fields[4].isBlank()) {
+            request.setRole(RoleType.valueOf(BadgeScanImportServiceImpl.unquote(fields[4]).toUpperCase(Locale.ROOT)));
+        }
+        return request;
+    }
+
+    private String validate(RegisterRequest request) {
+        Set<ConstraintViolation<RegisterRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            // BCrypt refuses longer input; caught here rather than halfway through hashing
+            return request.getPassword().getBytes(StandardCharsets.UTF_8).length > MAX_PASSWORD_BYTES
+                    ? "password: must not exceed " + MAX_PASSWORD_BYTES + " bytes"
+                    : null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static RoleType roleOf(RegisterRequest request) {
+        return request.getRole() != null ? request.getRole() : RoleType.EMPLOYEE;
+    }
+
+    // One query for all distinct department ids
+    private Map<UUID, Department> resolveDepartments(List<ImportRow> rows, ImportErrors errors) {
+        Set<UUID> ids = new LinkedHashSet<>();
+        rows.forEach(row -> ids.add(row.request().getDepartmentId()));
+
+        Map<UUID, Department> departments = new HashMap<>();
+        departmentRepository.findAllById(ids).forEach(department -> departments.put(department.getId(), department));
+        rows.stream()
+                .filter(row -> !departments.containsKey(row.request().getDepartmentId()))
+                .forEach(row -> errors.add(row.line(), "Department not found: " + row.request().getDepartmentId()));
+        return departments;
+    }
+
+    // One (cached) lookup per distinct role
+    private Map<RoleType, Role> resolveRoles(List<ImportRow> rows, ImportErrors errors) {
+        Map<RoleType, Role> roles = new EnumMap<>(RoleType.class);
+        for (ImportRow row : rows) {
+            RoleType type = roleOf(row.request());
+            if (!roles.containsKey(type)) {
+                roles.put(type, roleService.findByName(type).orElse(null));
+            }
+            if (roles.get(type) == null) {
+                errors.add(row.line(), "Role not found: " + type);
+            }
+        }
+        return roles;
+    }
+
+    // Parallel stream inside the pool: BCrypt work is confined to its threads, in row order
+    private List<String> hashPasswords(List<ImportRow> rows) {
+        try {
+            return hashingPool.submit(() -> rows.parallelStream()
+                    .map(row -> passwordEncoder.encodeOnCaller(row.request().getPassword()))
+                    .toList()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing imported passwords", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Hashing imported passwords failed", e.getCause());
+        }
+    }
+
+    private static UserImportSummary summary(long lines, int created, int skipped, int conflicts,
+                                             ImportErrors errors, long hashingMillis, long start) {
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        return UserImportSummary.builder()
+                .rowsRead(lines)
+                .usersCreated(created)
+                .skippedExisting(skipped)
+                .conflicts(conflicts)
+                .errorCount(errors.count)
+                .errors(errors.reported)
+                .hashingMillis(hashingMillis)
+                .elapsedMillis(elapsedMillis)
+                .usersPerSecond(elapsedMillis > 0 ? created * 1000.0 / elapsedMillis : created)
+                .build();
+    }
+}
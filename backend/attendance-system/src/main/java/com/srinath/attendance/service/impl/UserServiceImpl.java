@@ -1,7 +1,11 @@
 package com.srinath.attendance.service.impl;
 
 import com.srinath.attendance.entity.User;
+import com.srinath.attendance.repository.UserJdbcRepository;
+import com.srinath.attendance.repository.UserJdbcRepository.SecurityState;
 import com.srinath.attendance.repository.UserRepository;
+import com.srinath.attendance.security.PrincipalCache;
+import com.srinath.attendance.security.TokenVersionRegistry;
 import com.srinath.attendance.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,6 +25,9 @@ import java.util.UUID;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final UserJdbcRepository userJdbcRepository;
+    private final PrincipalCache principalCache;
+    private final TokenVersionRegistry tokenVersionRegistry;
 
     @Override
     public User createUser(User user) {
@@ -70,12 +77,27 @@ public class UserServiceImpl implements UserService {
     @Override
     public User updateUser(User user) {
         log.info("Updating user: {}", user.getId());
-        return userRepository.save(user);
+        // Read before the save flushes the new values
+        Optional<SecurityState> before = userJdbcRepository.findSecurityState(user.getId());
+        User saved = userRepository.save(user);
+        principalCache.evictUser(saved.getId());
+
+        // Only a changed role, department, email, password or enabled flag revokes stateless tokens
+        if (before.isPresent() && !before.get().equals(SecurityState.of(saved))) {
+            int version = userJdbcRepository.bumpTokenVersion(saved.getId());
+            saved.setTokenVersion(version);
+            tokenVersionRegistry.revoke(saved.getId(), version);
+        }
+        return saved;
     }
 
     @Override
     public void deleteUser(UUID id) {
         log.info("Deleting user: {}", id);
+        // Same transaction: the deletion and its cluster-wide revocation commit together
+        userJdbcRepository.recordRevocation(id);
         userRepository.deleteById(id);
+        principalCache.evictUser(id);
+        tokenVersionRegistry.revoke(id, Integer.MAX_VALUE);
     }
 }
@@ -0,0 +1,7 @@
+-- V10__add_user_token_version.sql
+-- Per-user token version; bumping it revokes every stateless JWT issued before
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS token_version INTEGER NOT NULL DEFAULT 0;
+
+-- Only revoked/disabled users are loaded by the revocation check
+CREATE INDEX IF NOT EXISTS idx_user_revocation ON users(id) WHERE token_version > 0 OR enabled = false;
@@ -0,0 +1,99 @@
+-- V11__partition_attendances.sql
+-- Monthly range partitioning of attendances on date (PostgreSQL declarative partitioning).
+-- Copies the table once under an exclusive lock: run during a maintenance window.
+-- The primary key becomes (id, date) since every unique constraint must contain the partition key.
+
+CREATE TABLE attendances_partitioned (
+    id UUID NOT NULL,
+    user_id UUID NOT NULL,
+    date DATE NOT NULL,
+    check_in_time TIMESTAMP,
+    check_out_time TIMESTAMP,
+    status VARCHAR(20) NOT NULL,
+    total_hours DOUBLE PRECISION NOT NULL DEFAULT 0.0,
+    late_approved BOOLEAN NOT NULL DEFAULT false,
+    approved_by UUID,
+    approved_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+) PARTITION BY RANGE (date);
+
+-- Catches dates outside every monthly partition so inserts never fail
+CREATE TABLE attendances_default PARTITION OF attendances_partitioned DEFAULT;
+
+-- One partition per month of existing data, plus the next three months
+DO $$
+DECLARE
+    v_month DATE;
+    v_last DATE := (date_trunc('month', CURRENT_DATE) + INTERVAL '3 months')::date;
+BEGIN
+    SELECT COALESCE(date_trunc('month', MIN(date))::date, date_trunc('month', CURRENT_DATE)::date)
+    INTO v_month
+    FROM attendances;
+
+    WHILE v_month <= v_last LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF attendances_partitioned FOR VALUES FROM (%L) TO (%L)',
+                       'attendances_' || to_char(v_month, 'YYYY_MM'), v_month, (v_month + INTERVAL '1 month')::date);
+        v_month := (v_month + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO attendances_partitioned (id, user_id, date, check_in_time, check_out_time, status, total_hours,
+                                     late_approved, approved_by, approved_at, created_at, updated_at)
+SELECT id, user_id, date, check_in_time, check_out_time, status, total_hours,
+       late_approved, approved_by, approved_at, created_at, updated_at
+FROM attendances;
+
+DROP TABLE attendances;
+ALTER TABLE attendances_partitioned RENAME TO attendances;
+
+-- Constraints and indexes are declared on the parent and cascade to every partition
+ALTER TABLE attendances ADD CONSTRAINT pk_attendances PRIMARY KEY (id, date);
+ALTER TABLE attendances ADD CONSTRAINT uk_user_date UNIQUE (user_id, date);
+ALTER TABLE attendances ADD CONSTRAINT fk_attendance_user FOREIGN KEY (user_id) REFERENCES users(id);
+ALTER TABLE attendances ADD CONSTRAINT fk_attendance_approved_by FOREIGN KEY (approved_by) REFERENCES users(id);
+
+CREATE INDEX IF NOT EXISTS idx_attendance_user_date ON attendances(user_id, date);
+CREATE INDEX IF NOT EXISTS idx_attendance_date ON attendances(date);
+CREATE INDEX IF NOT EXISTS idx_attendance_status ON attendances(status);
+CREATE INDEX IF NOT EXISTS idx_attendance_user_id ON attendances(user_id);
+
+-- Creates the partition holding p_month (idempotent). Rows of that month that landed in the
+-- default partition are moved into the new table before it is attached.
+CREATE OR REPLACE FUNCTION create_attendance_partition(p_month DATE) RETURNS TEXT
+LANGUAGE plpgsql AS $$
+DECLARE
+    v_start DATE := date_trunc('month', p_month)::date;
+    v_end DATE := (date_trunc('month', p_month) + INTERVAL '1 month')::date;
+    v_name TEXT := 'attendances_' || to_char(date_trunc('month', p_month), 'YYYY_MM');
+BEGIN
+    IF to_regclass(v_name) IS NOT NULL THEN
+        RETURN v_name;
+    END IF;
+
+    IF EXISTS (SELECT 1 FROM attendances_default WHERE date >= v_start AND date < v_end) THEN
+        EXECUTE format('CREATE TABLE %I (LIKE attendances INCLUDING DEFAULTS)', v_name);
+        EXECUTE format('WITH moved AS (DELETE FROM attendances_default WHERE date >= %L AND date < %L RETURNING *) '
+                       'INSERT INTO %I SELECT * FROM moved', v_start, v_end, v_name);
+        EXECUTE format('ALTER TABLE attendances ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                       v_name, v_start, v_end);
+    ELSE
+        EXECUTE format('CREATE TABLE %I PARTITION OF attendances FOR VALUES FROM (%L) TO (%L)',
+                       v_name, v_start, v_end);
+    END IF;
+
+    RETURN v_name;
+END $$;
+
+-- Monthly partitions that end on or before p_before, oldest first (detach/archive candidates)
+CREATE OR REPLACE FUNCTION attendance_partitions_before(p_before DATE) RETURNS SETOF TEXT
+LANGUAGE sql STABLE AS $$
+    SELECT c.relname::text
+    FROM pg_inherits i
+    JOIN pg_class c ON c.oid = i.inhrelid
+    JOIN pg_class p ON p.oid = i.inhparent
+    WHERE p.relname = 'attendances'
+      AND c.relname ~ '^attendances_[0-9]{4}_[0-9]{2}$'
+      AND to_date(substring(c.relname from 13), 'YYYY_MM') + INTERVAL '1 month' <= p_before
+    ORDER BY c.relname
+$$;
@@ -0,0 +1,25 @@
+-- V12__redesign_attendance_indexes.sql
+-- Attendance indexes matched to the repository query shapes (see AttendanceQueryPlanTest).
+-- Indexes on the partitioned parent cascade to every monthly partition.
+
+-- Redundant: uk_user_date already indexes (user_id, date) and serves user_id-only lookups;
+-- status alone is too unselective to be worth an index
+DROP INDEX IF EXISTS idx_attendance_user_date;
+DROP INDEX IF EXISTS idx_attendance_user_id;
+DROP INDEX IF EXISTS idx_attendance_status;
+DROP INDEX IF EXISTS idx_attendance_date;
+
+-- Per-user history and per-user aggregates read status/hours straight from the unique index
+ALTER TABLE attendances DROP CONSTRAINT uk_user_date;
+ALTER TABLE attendances ADD CONSTRAINT uk_user_date UNIQUE (user_id, date) INCLUDE (status, total_hours);
+
+-- Day/status filters, counts and dashboard aggregates (index-only for the GROUP BY projections)
+CREATE INDEX IF NOT EXISTS idx_attendance_date_status
+    ON attendances(date, status) INCLUDE (user_id, total_hours, late_approved);
+
+-- Keyset listing of a day (ORDER BY id) and export ranges (ORDER BY date, id)
+CREATE INDEX IF NOT EXISTS idx_attendance_date_id ON attendances(date, id);
+
+-- Check-out lookups: only rows still open, so it stays a few pages per day
+CREATE INDEX IF NOT EXISTS idx_attendance_open_check_ins
+    ON attendances(user_id, date) WHERE check_out_time IS NULL;
@@ -0,0 +1,4 @@
+-- V13__add_job_partition_attempts.sql
+-- Claims per partition, so FAILED partitions can be retried a bounded number of times
+
+ALTER TABLE job_partitions ADD COLUMN IF NOT EXISTS attempts INTEGER NOT NULL DEFAULT 0;
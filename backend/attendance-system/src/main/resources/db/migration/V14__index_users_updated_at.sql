@@ -0,0 +1,7 @@
+-- V14__index_users_updated_at.sql
+-- The stateless-token revocation refresh now reads users changed since its last run
+-- (updated_at watermark) instead of every revoked or disabled user
+
+DROP INDEX IF EXISTS idx_user_revocation;
+
+CREATE INDEX IF NOT EXISTS idx_user_updated_at ON users(updated_at);
@@ -0,0 +1,11 @@
+-- V15__create_user_revocations.sql
+-- Deleted users leave no users row for other nodes' revocation refresh to see, so the
+-- deletion is recorded here; rows older than the token lifetime are pruned by the refresh
+
+CREATE TABLE IF NOT EXISTS user_revocations (
+    user_id UUID NOT NULL,
+    revoked_at TIMESTAMP NOT NULL,
+    CONSTRAINT pk_user_revocations PRIMARY KEY (user_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_user_revocations_revoked_at ON user_revocations(revoked_at);
@@ -0,0 +1,10 @@
+-- V16__add_rollup_slots.sql
+-- Each (date, department, status) total is spread over several slot rows; writers update a
+-- random slot and readers SUM them, so concurrent check-ins no longer queue on one row lock.
+-- Existing totals become slot 0, which is also where a full refresh puts the day's totals.
+
+ALTER TABLE daily_attendance_rollup ADD COLUMN IF NOT EXISTS slot SMALLINT NOT NULL DEFAULT 0;
+
+ALTER TABLE daily_attendance_rollup DROP CONSTRAINT pk_daily_attendance_rollup;
+ALTER TABLE daily_attendance_rollup ADD CONSTRAINT pk_daily_attendance_rollup
+    PRIMARY KEY (date, department_id, status, slot);
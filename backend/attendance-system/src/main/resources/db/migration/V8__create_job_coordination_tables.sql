@@ -0,0 +1,29 @@
+-- V8__create_job_coordination_tables.sql
+-- Database-backed leases and work partitions for jobs that run on every replica
+
+CREATE TABLE IF NOT EXISTS job_leases (
+    job_name VARCHAR(100) PRIMARY KEY,
+    owner VARCHAR(100) NOT NULL,
+    lease_until TIMESTAMP NOT NULL,
+    acquired_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS job_partitions (
+    id UUID PRIMARY KEY,
+    job_name VARCHAR(100) NOT NULL,
+    run_date DATE NOT NULL,
+    partition_key VARCHAR(100) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    owner VARCHAR(100),
+    claimed_until TIMESTAMP,
+    completed_at TIMESTAMP,
+    rows_processed INTEGER NOT NULL DEFAULT 0,
+    CONSTRAINT uk_job_partition UNIQUE (job_name, run_date, partition_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_job_partition_run ON job_partitions(job_name, run_date, status);
+
+-- Pre-create the absent-marking lease so nodes only ever compete on UPDATE
+INSERT INTO job_leases (job_name, owner, lease_until, acquired_at)
+VALUES ('absent-marking', 'none', TIMESTAMP '1970-01-01 00:00:00', TIMESTAMP '1970-01-01 00:00:00')
+ON CONFLICT (job_name) DO NOTHING;
@@ -0,0 +1,26 @@
+-- V9__create_daily_attendance_rollup.sql
+-- Per-day, per-department, per-status totals for dashboard trends
+
+CREATE TABLE IF NOT EXISTS daily_attendance_rollup (
+    date DATE NOT NULL,
+    department_id UUID NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attendance_count BIGINT NOT NULL DEFAULT 0,
+    total_hours DOUBLE PRECISION NOT NULL DEFAULT 0.0,
+    late_approved_count BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT pk_daily_attendance_rollup PRIMARY KEY (date, department_id, status),
+    CONSTRAINT fk_rollup_department FOREIGN KEY (department_id) REFERENCES departments(id)
+);
+
+-- Backfill from existing attendance history
+INSERT INTO daily_attendance_rollup (date, department_id, status, attendance_count, total_hours, late_approved_count)
+SELECT a.date,
+       u.department_id,
+       a.status,
+       COUNT(*),
+       COALESCE(SUM(a.total_hours), 0.0),
+       COUNT(*) FILTER (WHERE a.late_approved)
+FROM attendances a
+JOIN users u ON u.id = a.user_id
+GROUP BY a.date, u.department_id, a.status
+ON CONFLICT (date, department_id, status) DO NOTHING;
@@ -0,0 +1,42 @@
+package com.srinath.attendance.controller;
+
+import com.srinath.attendance.service.AttendanceService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Manager-only team views under /api/attendance, including the paged today-status variant
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AttendanceControllerSecurityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private AttendanceService attendanceService;
+
+    @Test
+    @WithMockUser(authorities = "EMPLOYEE")
+    void employeeCannotReadTodayStatus() throws Exception {
+        mockMvc.perform(get("/api/attendance/today-status")).andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/attendance/today-status/PRESENT")).andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/attendance/summary")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(authorities = "MANAGER")
+    void managerCanReadTodayStatusPages() throws Exception {
+        mockMvc.perform(get("/api/attendance/today-status/PRESENT").param("page", "0").param("size", "50"))
+                .andExpect(status().isOk());
+    }
+}
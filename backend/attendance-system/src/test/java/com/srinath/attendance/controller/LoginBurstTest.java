@@ -0,0 +1,98 @@
+package com.srinath.attendance.controller;
+
+import com.srinath.attendance.AttendanceSystemApplication;
+import com.srinath.attendance.support.PostgresTestDatabase;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A login burst against a deliberately tiny hashing pool (one thread, two queued): the overflow
+// must be turned away with 429 + Retry-After rather than queueing on request threads or failing.
+@Slf4j
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+class LoginBurstTest {
+
+    private static final int BURST = 50;
+    private static final String LOGIN = """
+            {"email":"john.smith@company.com","password":"Employee@123"}
+            """;
+
+    private static ConfigurableApplicationContext app;
+    private static String baseUrl;
+
+    @BeforeAll
+    static void startApp() {
+        List<String> args = new ArrayList<>(PostgresTestDatabase.create().springArguments());
+        args.addAll(List.of(
+                "--server.port=0",
+                "--security.password-hashing.threads=1",
+                "--security.password-hashing.queue-capacity=2",
+                "--security.password-hashing.retry-after=1s",
+                "--attendance.absent-job.cron=-",
+                "--attendance.partitions.cron=-"));
+        app = new SpringApplicationBuilder(AttendanceSystemApplication.class).run(args.toArray(String[]::new));
+        baseUrl = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+    }
+
+    @AfterAll
+    static void stopApp() {
+        app.close();
+    }
+
+    @Test
+    void overflowGetsTooManyRequestsWithRetryAfter() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(LOGIN))
+                .build();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<HttpResponse<String>> responses = new ArrayList<>(BURST);
+        try (HttpClient client = HttpClient.newHttpClient();
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<HttpResponse<String>>> calls = new ArrayList<>(BURST);
+            for (int i = 0; i < BURST; i++) {
+                calls.add(clients.submit(() -> {
+                    start.await();
+                    return client.send(request, HttpResponse.BodyHandlers.ofString());
+                }));
+            }
+            start.countDown();
+            for (Future<HttpResponse<String>> call : calls) {
+                responses.add(call.get(2, TimeUnit.MINUTES));
+            }
+        }
+
+        List<HttpResponse<String>> ok = responses.stream().filter(r -> r.statusCode() == 200).toList();
+        List<HttpResponse<String>> throttled = responses.stream().filter(r -> r.statusCode() == 429).toList();
+        double rejected = app.getBean(MeterRegistry.class).get("security.password.rejected").counter().count();
+        log.info("Login burst of {}: {} accepted, {} throttled", BURST, ok.size(), throttled.size());
+
+        assertThat(ok.size() + throttled.size()).isEqualTo(BURST);
+        assertThat(ok).isNotEmpty().allSatisfy(r -> assertThat(r.body()).contains("token"));
+        assertThat(throttled).isNotEmpty()
+                .allSatisfy(r -> assertThat(r.headers().firstValue("Retry-After")).hasValue("1"));
+        assertThat(rejected).isEqualTo(throttled.size());
+    }
+}
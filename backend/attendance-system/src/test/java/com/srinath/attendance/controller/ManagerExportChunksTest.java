@@ -0,0 +1,49 @@
+package com.srinath.attendance.controller;
+
+import com.srinath.attendance.service.AttendanceExportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Chunk planning is bounded: tiny chunk sizes would turn one response into millions of cursors
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(authorities = "MANAGER")
+class ManagerExportChunksTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private AttendanceExportService attendanceExportService;
+
+    @Test
+    void rejectsChunkSizesBelowTheMinimum() throws Exception {
+        mockMvc.perform(get("/api/manager/export/csv/chunks").param("chunkSize", "1"))
+                .andExpect(status().isBadRequest());
+        verify(attendanceExportService, never()).planChunks(any(), anyInt());
+    }
+
+    @Test
+    void plansChunksAtTheMinimum() throws Exception {
+        when(attendanceExportService.planChunks(any(), anyInt())).thenReturn(List.of());
+        mockMvc.perform(get("/api/manager/export/csv/chunks").param("chunkSize", "10000"))
+                .andExpect(status().isOk());
+    }
+}
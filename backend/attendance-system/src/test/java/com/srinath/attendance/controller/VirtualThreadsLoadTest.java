@@ -0,0 +1,147 @@
+package com.srinath.attendance.controller;
+
+import com.srinath.attendance.AttendanceSystemApplication;
+import com.srinath.attendance.security.CustomUserDetails;
+import com.srinath.attendance.security.CustomUserDetailsService;
+import com.srinath.attendance.security.JwtService;
+import com.srinath.attendance.support.Latencies;
+import com.srinath.attendance.support.PostgresTestDatabase;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Same check-in and dashboard load against the app on platform threads, then on virtual threads
+// (spring.threads.virtual.enabled). Each mode gets its own employees so both start from no check-ins.
+@Slf4j
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+class VirtualThreadsLoadTest {
+
+    private static final int CLIENTS = 500;
+    private static final int DASHBOARD_ROUNDS = 4;
+    // Virtual threads must not cost throughput; DB access is capped either way
+    private static final double MIN_VIRTUAL_TO_PLATFORM_RATIO = 0.5;
+
+    private record Result(double requestsPerSecond, double p50, double p99) {
+    }
+
+    private static PostgresTestDatabase database;
+
+    @BeforeAll
+    static void seedEmployees() {
+        database = PostgresTestDatabase.create();
+        for (String mode : List.of("platform", "virtual")) {
+            database.jdbcTemplate().execute("""
+                    INSERT INTO users (id, name, email, password, employee_id, role_id, department_id)
+                    SELECT gen_random_uuid(), 'Employee ' || n, '%1$s' || n || '@load.test', 'x', '%1$s-' || n,
+                           '550e8400-e29b-41d4-a716-446655440001', '550e8400-e29b-41d4-a716-446655440101'
+                    FROM generate_series(1, %2$d) n
+                    """.formatted(mode, CLIENTS));
+        }
+    }
+
+    @Test
+    void virtualThreadsKeepUpWithPlatformThreads() throws Exception {
+        Result[] platform = run("platform", false);
+        Result[] virtual = run("virtual", true);
+
+        log.info("check-in  platform: {} req/s p50 {} ms p99 {} ms | virtual: {} req/s p50 {} ms p99 {} ms",
+                Math.round(platform[0].requestsPerSecond()), platform[0].p50(), platform[0].p99(),
+                Math.round(virtual[0].requestsPerSecond()), virtual[0].p50(), virtual[0].p99());
+        log.info("dashboard platform: {} req/s p50 {} ms p99 {} ms | virtual: {} req/s p50 {} ms p99 {} ms",
+                Math.round(platform[1].requestsPerSecond()), platform[1].p50(), platform[1].p99(),
+                Math.round(virtual[1].requestsPerSecond()), virtual[1].p50(), virtual[1].p99());
+
+        for (int endpoint = 0; endpoint < 2; endpoint++) {
+            assertThat(virtual[endpoint].requestsPerSecond())
+                    .isGreaterThan(platform[endpoint].requestsPerSecond() * MIN_VIRTUAL_TO_PLATFORM_RATIO);
+        }
+    }
+
+    private static Result[] run(String mode, boolean virtualThreads) throws Exception {
+        List<String> args = new ArrayList<>(database.springArguments());
+        args.addAll(List.of(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--attendance.absent-job.cron=-",
+                "--attendance.partitions.cron=-",
+                "--logging.level.com.srinath.attendance=warn"));
+
+        try (ConfigurableApplicationContext app =
+                     new SpringApplicationBuilder(AttendanceSystemApplication.class).run(args.toArray(String[]::new))) {
+            String baseUrl = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+            JwtService jwtService = app.getBean(JwtService.class);
+            CustomUserDetailsService userDetailsService = app.getBean(CustomUserDetailsService.class);
+
+            List<String> tokens = new ArrayList<>(CLIENTS);
+            for (int n = 1; n <= CLIENTS; n++) {
+                tokens.add(jwtService.generateToken(
+                        (CustomUserDetails) userDetailsService.loadUserByUsername(mode + n + "@load.test")));
+            }
+
+            try (HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build()) {
+                Result checkIn = load(client, tokens, 1, token -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/employee/check-in"))
+                        .header("Authorization", "Bearer " + token)
+                        .POST(HttpRequest.BodyPublishers.noBody())
+                        .build());
+                Result dashboard = load(client, tokens, DASHBOARD_ROUNDS, token -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/employee/dashboard"))
+                        .header("Authorization", "Bearer " + token)
+                        .GET()
+                        .build());
+                return new Result[]{checkIn, dashboard};
+            }
+        }
+    }
+
+    // One client per token, each sending `rounds` requests back to back after a common start gate
+    private static Result load(HttpClient client, List<String> tokens, int rounds,
+                               Function<String, HttpRequest> request) throws Exception {
+        Latencies latencies = new Latencies(tokens.size() * rounds);
+        CountDownLatch start = new CountDownLatch(1);
+
+        long started;
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> calls = new ArrayList<>(tokens.size());
+            for (String token : tokens) {
+                calls.add(clients.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < rounds; i++) {
+                        long sent = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request.apply(token), HttpResponse.BodyHandlers.discarding());
+                        assertThat(response.statusCode()).isBetween(200, 299);
+                        latencies.record(sent);
+                    }
+                    return null;
+                }));
+            }
+            started = System.nanoTime();
+            start.countDown();
+            for (Future<?> call : calls) {
+                call.get(2, TimeUnit.MINUTES);
+            }
+        }
+
+        double seconds = (System.nanoTime() - started) / 1e9;
+        assertThat(latencies.count()).isEqualTo(tokens.size() * rounds);
+        return new Result(latencies.count() / seconds, latencies.percentile(50), latencies.percentile(99));
+    }
+}
@@ -0,0 +1,97 @@
+package com.srinath.attendance.repository;
+
+import com.srinath.attendance.repository.AttendanceJdbcRepository.CheckOutOutcome;
+import com.srinath.attendance.repository.AttendanceJdbcRepository.CheckOutResult;
+import com.srinath.attendance.support.PostgresTestDatabase;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Simultaneous check-outs against the single-statement PostgreSQL path: exactly one wins,
+// the others see the closed row, and hours come from the stored check-in.
+@Testcontainers(disabledWithoutDocker = true)
+class AttendanceCheckOutConcurrencyTest {
+
+    private static final UUID USER_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440201");
+    private static final int CALLERS = 16;
+
+    private static JdbcTemplate jdbcTemplate;
+    private static AttendanceJdbcRepository repository;
+
+    @BeforeAll
+    static void migrate() {
+        jdbcTemplate = PostgresTestDatabase.create().jdbcTemplate();
+        repository = new AttendanceJdbcRepository(jdbcTemplate);
+    }
+
+    @Test
+    void onlyOneOfSimultaneousCheckOutsCloses() throws Exception {
+        LocalDate date = LocalDate.now().minusDays(1);
+        LocalDateTime checkIn = date.atTime(9, 0);
+        repository.insertCheckIn(UUID.randomUUID(), USER_ID, date, checkIn, "PRESENT");
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(CALLERS);
+        List<Future<CheckOutResult>> calls = new ArrayList<>();
+        try {
+            for (int i = 0; i < CALLERS; i++) {
+                LocalDateTime checkOut = date.atTime(17, 30).plusMinutes(i);
+                calls.add(pool.submit(() -> {
+                    start.await();
+                    return repository.checkOut(USER_ID, date, checkOut, 30.0);
+                }));
+            }
+            start.countDown();
+
+            List<CheckOutResult> results = new ArrayList<>();
+            for (Future<CheckOutResult> call : calls) {
+                results.add(call.get());
+            }
+
+            List<CheckOutResult> winners = results.stream()
+                    .filter(r -> r.outcome() == CheckOutOutcome.CHECKED_OUT)
+                    .toList();
+            assertThat(winners).hasSize(1);
+            assertThat(results).filteredOn(r -> r.outcome() == CheckOutOutcome.ALREADY_CHECKED_OUT)
+                    .hasSize(CALLERS - 1);
+
+            // 8h30 (or a few minutes more, depending on the winner) minus the 30 minute break
+            CheckOutResult winner = winners.get(0);
+            assertThat(winner.totalHours()).isBetween(8.0, 8.0 + CALLERS / 60.0);
+            assertThat(jdbcTemplate.queryForObject(
+                    "SELECT total_hours FROM attendances WHERE user_id = ? AND date = ?",
+                    Double.class, USER_ID, date)).isEqualTo(winner.totalHours());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void distinguishesMissingCheckInFromClosedRow() {
+        LocalDate date = LocalDate.now().minusDays(2);
+
+        assertThat(repository.checkOut(USER_ID, date, date.atTime(17, 0), 30.0).outcome())
+                .isEqualTo(CheckOutOutcome.NO_CHECK_IN);
+
+        repository.insertCheckIn(UUID.randomUUID(), USER_ID, date, date.atTime(9, 45), "LATE");
+        CheckOutResult first = repository.checkOut(USER_ID, date, date.atTime(17, 15), 30.0);
+        assertThat(first.outcome()).isEqualTo(CheckOutOutcome.CHECKED_OUT);
+        assertThat(first.totalHours()).isEqualTo(7.0);
+
+        assertThat(repository.checkOut(USER_ID, date, date.atTime(18, 0), 30.0).outcome())
+                .isEqualTo(CheckOutOutcome.ALREADY_CHECKED_OUT);
+    }
+}
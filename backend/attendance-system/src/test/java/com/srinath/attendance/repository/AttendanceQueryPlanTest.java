@@ -0,0 +1,356 @@
+package com.srinath.attendance.repository;
+
+import com.srinath.attendance.dto.request.ExportCriteria;
+import com.srinath.attendance.entity.AttendanceStatus;
+import com.srinath.attendance.support.PostgresTestDatabase;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Query-plan regression suite: each attendance repository method is called against the Flyway
+// schema, the SQL it actually sends (Hibernate-generated or JdbcTemplate) is captured, and that
+// SQL is EXPLAINed as a generic plan with sequential scans disabled. A plan that still scans an
+// attendances partition sequentially means no index serves that query shape any more.
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class AttendanceQueryPlanTest {
+
+    private static final Pattern SEQ_SCAN = Pattern.compile("Seq Scan on (attendances\\w*)");
+    private static final Pattern JDBC_PARAMETER = Pattern.compile("\\?");
+    // A parameter only tested for null has no type PostgreSQL can infer
+    private static final Pattern NULL_CHECK = Pattern.compile("(\\$\\d+) is null");
+    private static final UUID USER_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440201");
+    private static final UUID DEPARTMENT_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440101");
+
+    private static PostgresTestDatabase database;
+    private static Connection connection;
+    private static LocalDate day;
+    private static AttendanceJdbcRepository attendanceJdbcRepository;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    // Collects every statement Hibernate prepares (configured by class name below), and the
+    // ones AttendanceJdbcRepository prepares through a recording connection
+    public static class CapturedSql implements StatementInspector {
+
+        private static final List<String> STATEMENTS = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            record(sql);
+            return sql;
+        }
+
+        static void record(String sql) {
+            synchronized (STATEMENTS) {
+                STATEMENTS.add(sql);
+            }
+        }
+
+        static List<String> drain() {
+            synchronized (STATEMENTS) {
+                List<String> statements = List.copyOf(STATEMENTS);
+                STATEMENTS.clear();
+                return statements;
+            }
+        }
+    }
+
+    @BeforeAll
+    static void migrateAndSeed() throws SQLException {
+        database = PostgresTestDatabase.create();
+        connection = database.connect();
+        day = LocalDate.now().minusDays(10);
+        attendanceJdbcRepository = new AttendanceJdbcRepository(new JdbcTemplate(recording(database.dataSource())));
+
+        try (Statement st = connection.createStatement()) {
+            for (LocalDate month = LocalDate.now().minusDays(90).withDayOfMonth(1);
+                 !month.isAfter(LocalDate.now()); month = month.plusMonths(1)) {
+                st.execute("SELECT create_attendance_partition(DATE '" + month + "')");
+            }
+
+            // 500 employees x 90 days; a tenth of each day still checked in
+            st.execute("""
+                    INSERT INTO users (id, name, email, password, employee_id, role_id, department_id)
+                    SELECT gen_random_uuid(), 'Employee ' || n, 'employee' || n || '@plan.test', 'x', 'PLAN-' || n,
+                           '550e8400-e29b-41d4-a716-446655440001', '%s'
+                    FROM generate_series(1, 500) n
+                    """.formatted(DEPARTMENT_ID));
+            st.execute("""
+                    INSERT INTO attendances (id, user_id, date, check_in_time, check_out_time, status, total_hours)
+                    SELECT gen_random_uuid(), u.id, d::date, d + TIME '09:00',
+                           CASE WHEN random() < 0.9 THEN d + TIME '17:30' END,
+                           (ARRAY['PRESENT', 'LATE', 'HALF_DAY', 'ABSENT'])[1 + floor(random() * 4)::int], 8.0
+                    FROM users u
+                    CROSS JOIN generate_series(CURRENT_DATE - 90, CURRENT_DATE - 1, INTERVAL '1 day') d
+                    """);
+            st.execute("VACUUM ANALYZE attendances");
+            st.execute("VACUUM ANALYZE users");
+            st.execute("SET enable_seqscan = off");
+        }
+    }
+
+    // Statements prepared on connections from this data source are recorded in CapturedSql
+    private static DataSource recording(DataSource dataSource) {
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                Connection target = super.getConnection();
+                return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                        new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                            if (method.getName().equals("prepareStatement")) {
+                                CapturedSql.record((String) args[0]);
+                            }
+                            try {
+                                return method.invoke(target, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                        });
+            }
+        };
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        database.springProperties().forEach((name, value) -> registry.add(name, () -> value));
+        registry.add("spring.jpa.properties.hibernate.session_factory.statement_inspector", CapturedSql.class::getName);
+    }
+
+    @AfterAll
+    static void close() throws SQLException {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    @BeforeEach
+    void clearCapturedSql() {
+        CapturedSql.drain();
+    }
+
+    @Test
+    void findByUserIdAndDate() throws SQLException {
+        attendanceRepository.findByUserIdAndDate(USER_ID, day);
+        assertIndexed();
+    }
+
+    @Test
+    void existsByUserIdAndDate() throws SQLException {
+        attendanceRepository.existsByUserIdAndDate(USER_ID, day);
+        assertIndexed();
+    }
+
+    @Test
+    void findByUserId() throws SQLException {
+        attendanceRepository.findByUserId(USER_ID);
+        assertIndexed();
+    }
+
+    @Test
+    void findByUserIdAndStatus() throws SQLException {
+        attendanceRepository.findByUserIdAndStatus(USER_ID, AttendanceStatus.LATE);
+        assertIndexed();
+    }
+
+    @Test
+    void findByUserIdAndDateBetween() throws SQLException {
+        // Page size below the match count, so the COUNT query runs too
+        attendanceRepository.findByUserIdAndDateBetween(USER_ID, day.minusDays(30), day, PageRequest.of(0, 2));
+        attendanceRepository.countByUserIdAndDateBetween(USER_ID, day.minusDays(30), day);
+        assertIndexed();
+    }
+
+    @Test
+    void findByUserIdAndDateBetweenAndStatus() throws SQLException {
+        attendanceRepository.findByUserIdAndDateBetweenAndStatus(
+                USER_ID, day.minusDays(30), day, AttendanceStatus.LATE, PageRequest.of(0, 2));
+        attendanceRepository.countByUserIdAndDateBetweenAndStatus(USER_ID, day.minusDays(30), day, AttendanceStatus.LATE);
+        assertIndexed();
+    }
+
+    @Test
+    void findByUserIdAfterDate() throws SQLException {
+        attendanceRepository.findByUserIdAfterDate(USER_ID, day.minusDays(60), day, Limit.of(31));
+        assertIndexed();
+    }
+
+    @Test
+    void aggregateByStatusForUser() throws SQLException {
+        attendanceRepository.aggregateByStatusForUser(USER_ID, day.minusDays(30), day);
+        assertIndexOnly();
+    }
+
+    @Test
+    void findDailyViewsByUserIdAndDateBetween() throws SQLException {
+        attendanceRepository.findDailyViewsByUserIdAndDateBetween(USER_ID, day.minusDays(30), day);
+        assertIndexOnly();
+    }
+
+    @Test
+    void findByDate() throws SQLException {
+        attendanceRepository.findByDate(day, PageRequest.of(0, 20));
+        assertIndexed();
+    }
+
+    @Test
+    void countByDate() throws SQLException {
+        attendanceRepository.countByDate(day);
+        assertIndexOnly();
+    }
+
+    @Test
+    void findByDateAfterId() throws SQLException {
+        UUID first = new UUID(0, 0);
+        attendanceRepository.findByDateAfterId(day, null, first, Limit.of(101));
+        attendanceRepository.findByDateAfterId(day, AttendanceStatus.LATE, first, Limit.of(101));
+        assertIndexed();
+    }
+
+    @Test
+    void findByStatusAndDate() throws SQLException {
+        attendanceRepository.findByStatusAndDate(AttendanceStatus.LATE, day);
+        attendanceRepository.findByDateAndStatus(day, AttendanceStatus.LATE, PageRequest.of(0, 20));
+        assertIndexed();
+    }
+
+    @Test
+    void countByStatusAndDate() throws SQLException {
+        attendanceRepository.countByStatusAndDate(AttendanceStatus.LATE, day);
+        assertIndexOnly();
+    }
+
+    @Test
+    void countByStatusForDate() throws SQLException {
+        attendanceRepository.countByStatusForDate(day);
+        assertIndexOnly();
+    }
+
+    @Test
+    void aggregateByStatusForDate() throws SQLException {
+        attendanceRepository.aggregateByStatusForDate(day);
+        assertIndexOnly();
+    }
+
+    @Test
+    void findByDepartmentAndDateBetween() throws SQLException {
+        attendanceRepository.findByDepartmentAndDateBetween(DEPARTMENT_ID, day.minusDays(6), day);
+        assertIndexed();
+    }
+
+    @Test
+    void findStatusViewsByDate() throws SQLException {
+        attendanceRepository.findStatusViewsByDate(day);
+        attendanceRepository.findStatusViewsByDateAndStatus(day, AttendanceStatus.LATE, PageRequest.of(0, 20));
+        assertIndexed();
+    }
+
+    @Test
+    void exportRange() throws SQLException {
+        ExportCriteria criteria = ExportCriteria.builder().startDate(day.minusDays(30)).endDate(day).build();
+        attendanceJdbcRepository.streamForExport(criteria, 1000, rs -> {
+        });
+        attendanceJdbcRepository.findExportBoundaries(criteria, 1000);
+        assertIndexed();
+    }
+
+    @Test
+    void checkOut() throws SQLException {
+        // Today has no seeded rows, so nothing is updated
+        attendanceJdbcRepository.checkOut(USER_ID, LocalDate.now(), LocalDateTime.now(), 0.0);
+        assertIndexed();
+    }
+
+    @Test
+    void lateApproval() throws SQLException {
+        List<AttendanceJdbcRepository.ApprovalRow> rows = attendanceJdbcRepository.lockUnapproved(
+                day, AttendanceStatus.LATE, null, new UUID(0L, 0L), 10);
+        attendanceJdbcRepository.lockForApproval(rows.stream().map(AttendanceJdbcRepository.ApprovalRow::id).toList(), day);
+        attendanceJdbcRepository.approveLate(rows, USER_ID, LocalDateTime.now());
+        assertIndexed();
+    }
+
+    private static void assertIndexed() throws SQLException {
+        for (String sql : capturedAttendanceQueries()) {
+            assertNoSeqScan(explain(sql));
+        }
+    }
+
+    private static void assertIndexOnly() throws SQLException {
+        for (String sql : capturedAttendanceQueries()) {
+            String plan = explain(sql);
+            assertNoSeqScan(plan);
+            assertThat(plan).as("Expected a covering index for:%n%s", sql).contains("Index Only Scan");
+        }
+    }
+
+    private static List<String> capturedAttendanceQueries() {
+        List<String> queries = CapturedSql.drain().stream()
+                .filter(sql -> sql.contains("attendances"))
+                .toList();
+        assertThat(queries).as("No attendance query was captured").isNotEmpty();
+        return queries;
+    }
+
+    private static void assertNoSeqScan(String plan) {
+        List<String> scanned = new ArrayList<>();
+        Matcher matcher = SEQ_SCAN.matcher(plan);
+        while (matcher.find()) {
+            scanned.add(matcher.group(1));
+        }
+        assertThat(scanned).as("Sequential scans in plan:%n%s", plan).isEmpty();
+    }
+
+    // Generic plan (PostgreSQL 16+): the statement is planned with its parameters unbound,
+    // the way a prepared statement reused across values is
+    private static String explain(String sql) throws SQLException {
+        StringBuilder numbered = new StringBuilder();
+        Matcher parameters = JDBC_PARAMETER.matcher(sql);
+        int index = 0;
+        while (parameters.find()) {
+            parameters.appendReplacement(numbered, "\\$" + ++index);
+        }
+        parameters.appendTail(numbered);
+        String generic = NULL_CHECK.matcher(numbered).replaceAll("$1::text is null");
+
+        StringBuilder plan = new StringBuilder();
+        try (Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery("EXPLAIN (GENERIC_PLAN) " + generic)) {
+            while (rs.next()) {
+                plan.append(rs.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+}
@@ -0,0 +1,103 @@
+package com.srinath.attendance.repository;
+
+import com.srinath.attendance.entity.Department;
+import com.srinath.attendance.entity.Role;
+import com.srinath.attendance.entity.User;
+import com.srinath.attendance.support.PostgresTestDatabase;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Throughput of the onboarding write path: one set query for existing emails, then 5,000 users
+// in JDBC batches. Passwords are pre-hashed, so this measures the database side only; the
+// end-to-end import including BCrypt is UserImportThroughputTest.
+@Slf4j
+@Testcontainers(disabledWithoutDocker = true)
+class UserBulkInsertThroughputTest {
+
+    private static final UUID EMPLOYEE_ROLE = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+    private static final UUID IT_DEPARTMENT = UUID.fromString("550e8400-e29b-41d4-a716-446655440101");
+    // Seeded hash of Employee@123
+    private static final String PASSWORD_HASH = "$2a$10$SlVZQw8K4iHdPVdX1eOb9.YpqQcJYSN4YqhXJLCL6u1CPCv5KaOwa";
+    private static final int USERS = 5_000;
+    private static final int BATCH_SIZE = 500;
+    // Conservative floor; row-at-a-time inserts would fall well below it
+    private static final double MIN_USERS_PER_SECOND = 2_000;
+
+    private static JdbcTemplate jdbcTemplate;
+    private static UserJdbcRepository repository;
+
+    @BeforeAll
+    static void migrate() {
+        jdbcTemplate = PostgresTestDatabase.create().jdbcTemplate();
+        repository = new UserJdbcRepository(jdbcTemplate);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void insertsFiveThousandUsersInBatches() {
+        List<User> users = new ArrayList<>(USERS);
+        List<String> emails = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            String email = "import.user" + i + "@company.com";
+            emails.add(email);
+            users.add(user(email, "IMP-" + i));
+        }
+        emails.add("john.smith@company.com");
+
+        long start = System.nanoTime();
+        Set<String> existing = repository.findExistingEmails(emails);
+        int inserted = 0;
+        for (int from = 0; from < users.size(); from += BATCH_SIZE) {
+            inserted += repository.insertUsers(users.subList(from, Math.min(from + BATCH_SIZE, users.size())));
+        }
+        double usersPerSecond = inserted / ((System.nanoTime() - start) / 1e9);
+        log.info("Inserted {} users at {} users/s", inserted, Math.round(usersPerSecond));
+
+        assertThat(existing).containsExactly("john.smith@company.com");
+        assertThat(inserted).isEqualTo(USERS);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE email LIKE 'import.user%'", Integer.class)).isEqualTo(USERS);
+        assertThat(repository.findExistingEmails(emails)).hasSize(USERS + 1);
+        assertThat(usersPerSecond).isGreaterThan(MIN_USERS_PER_SECOND);
+    }
+
+    @Test
+    void skipsRowsThatCollideOnEmailOrEmployeeId() {
+        int inserted = repository.insertUsers(List.of(
+                user("jane.doe@company.com", "IMP-NEW-1"),
+                user("brand.new@company.com", "EMP-001"),
+                user("another.new@company.com", "IMP-NEW-2")));
+
+        assertThat(inserted).isEqualTo(1);
+        assertThat(repository.findExistingEmails(List.of("another.new@company.com", "brand.new@company.com")))
+                .containsExactly("another.new@company.com");
+    }
+
+    private static User user(String email, String employeeId) {
+        Role role = new Role();
+        role.setId(EMPLOYEE_ROLE);
+        Department department = new Department();
+        department.setId(IT_DEPARTMENT);
+        return User.builder()
+                .id(UUID.randomUUID())
+                .name("Imported User")
+                .email(email)
+                .password(PASSWORD_HASH)
+                .employeeId(employeeId)
+                .role(role)
+                .department(department)
+                .enabled(true)
+                .build();
+    }
+}
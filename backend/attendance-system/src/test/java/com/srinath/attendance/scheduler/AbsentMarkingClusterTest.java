@@ -0,0 +1,166 @@
+package com.srinath.attendance.scheduler;
+
+import com.srinath.attendance.AttendanceSystemApplication;
+import com.srinath.attendance.service.JobCoordinationService;
+import com.srinath.attendance.service.JobCoordinationService.ClaimedPartition;
+import com.srinath.attendance.support.PostgresTestDatabase;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Several application contexts ("nodes") sharing one PostgreSQL database: the absent-marking
+// job runs on all of them at once, and the lease/claim bookkeeping is exercised across nodes.
+@Testcontainers(disabledWithoutDocker = true)
+class AbsentMarkingClusterTest {
+
+    private static final int NODES = 3;
+    private static final int EMPLOYEES = 300;
+
+    private static final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void startNodes() {
+        PostgresTestDatabase database = PostgresTestDatabase.create();
+        jdbcTemplate = database.jdbcTemplate();
+        jdbcTemplate.execute("""
+                INSERT INTO users (id, name, email, password, employee_id, role_id, department_id)
+                SELECT gen_random_uuid(), 'Employee ' || n, 'employee' || n || '@cluster.test', 'x', 'CL-' || n,
+                       '550e8400-e29b-41d4-a716-446655440001', d.id
+                FROM generate_series(1, %d) n
+                JOIN (SELECT id, row_number() OVER (ORDER BY id) - 1 AS idx, COUNT(*) OVER () AS total FROM departments) d
+                  ON d.idx = n %% d.total
+                """.formatted(EMPLOYEES));
+
+        for (int i = 1; i <= NODES; i++) {
+            List<String> args = new ArrayList<>(database.springArguments());
+            args.addAll(List.of(
+                    "--server.port=0",
+                    "--attendance.scheduler.node-id=node-" + i,
+                    "--attendance.scheduler.claim-duration=2s",
+                    "--attendance.absent-job.cron=-",
+                    "--attendance.partitions.cron=-",
+                    "--logging.level.org.hibernate.SQL=info",
+                    "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=info"));
+            nodes.add(new SpringApplicationBuilder(AttendanceSystemApplication.class).run(args.toArray(String[]::new)));
+        }
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void concurrentRunsMarkEveryDepartmentExactlyOnce() throws Exception {
+        LocalDate date = LocalDate.now().minusDays(3);
+        int users = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class);
+        int departments = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM departments", Integer.class);
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(NODES);
+        try {
+            List<Future<Integer>> runs = new ArrayList<>();
+            for (ConfigurableApplicationContext node : nodes) {
+                AbsentMarkingScheduler scheduler = node.getBean(AbsentMarkingScheduler.class);
+                runs.add(pool.submit(() -> {
+                    start.await();
+                    return scheduler.run(date);
+                }));
+            }
+            start.countDown();
+
+            int marked = 0;
+            for (Future<Integer> run : runs) {
+                marked += run.get(2, TimeUnit.MINUTES);
+            }
+
+            // A partition processed twice would report 0 the second time and break these sums
+            assertThat(marked).isEqualTo(users);
+            assertThat(jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM attendances WHERE date = ? AND status = 'ABSENT'", Integer.class, date))
+                    .isEqualTo(users);
+            assertThat(jdbcTemplate.queryForList(
+                    "SELECT status FROM job_partitions WHERE job_name = ? AND run_date = ?",
+                    String.class, AbsentMarkingScheduler.JOB_NAME, date))
+                    .hasSize(departments)
+                    .containsOnly("DONE");
+            assertThat(jdbcTemplate.queryForObject(
+                    "SELECT SUM(rows_processed) FROM job_partitions WHERE job_name = ? AND run_date = ?",
+                    Integer.class, AbsentMarkingScheduler.JOB_NAME, date))
+                    .isEqualTo(users);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void renewedClaimIsNotTakenOver() throws Exception {
+        JobCoordinationService owner = coordination(0);
+        JobCoordinationService other = coordination(1);
+        LocalDate date = LocalDate.now();
+        owner.seedPartitions("renewal-test", date, List.of("only"));
+
+        ClaimedPartition claim = owner.claimNext("renewal-test", date, Duration.ofSeconds(1)).orElseThrow();
+        assertThat(owner.renewClaim(claim.id(), Duration.ofMinutes(1))).isTrue();
+        Thread.sleep(1500);
+
+        assertThat(other.claimNext("renewal-test", date, Duration.ofMinutes(1))).isEmpty();
+        assertThat(owner.completePartition(claim.id(), 7)).isTrue();
+    }
+
+    @Test
+    void expiredClaimMovesToAnotherNode() throws Exception {
+        JobCoordinationService owner = coordination(0);
+        JobCoordinationService other = coordination(1);
+        LocalDate date = LocalDate.now();
+        owner.seedPartitions("takeover-test", date, List.of("only"));
+
+        ClaimedPartition claim = owner.claimNext("takeover-test", date, Duration.ofMillis(200)).orElseThrow();
+        Thread.sleep(500);
+
+        ClaimedPartition takeover = other.claimNext("takeover-test", date, Duration.ofMinutes(1)).orElseThrow();
+        assertThat(takeover.id()).isEqualTo(claim.id());
+        assertThat(owner.renewClaim(claim.id(), Duration.ofMinutes(1))).isFalse();
+        assertThat(owner.completePartition(claim.id(), 1)).isFalse();
+        assertThat(other.completePartition(takeover.id(), 1)).isTrue();
+    }
+
+    @Test
+    void failedPartitionIsRetriedUntilMaxAttempts() {
+        LocalDate date = LocalDate.now();
+        coordination(0).seedPartitions("retry-test", date, List.of("only"));
+
+        // Default attendance.scheduler.max-attempts is 3; each attempt fails on a different node
+        for (int attempt = 0; attempt < 3; attempt++) {
+            JobCoordinationService node = coordination(attempt % NODES);
+            ClaimedPartition claim = node.claimNext("retry-test", date, Duration.ofMinutes(1)).orElseThrow();
+            assertThat(node.failPartition(claim.id())).isTrue();
+        }
+
+        assertThat(coordination(0).claimNext("retry-test", date, Duration.ofMinutes(1))).isEmpty();
+        assertThat(coordination(0).countRemaining("retry-test", date)).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT attempts FROM job_partitions WHERE job_name = 'retry-test'", Integer.class)).isEqualTo(3);
+    }
+
+    private static JobCoordinationService coordination(int node) {
+        return nodes.get(node).getBean(JobCoordinationService.class);
+    }
+}
@@ -0,0 +1,93 @@
+package com.srinath.attendance.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Per-request token handling before and after JwtService.parse: the old filter path rebuilt the
+// key and parser and verified the signature three times (extractEmail, then isTokenValid's
+// extractEmail + isTokenExpired); now it is one verification with a parser built at startup.
+@Slf4j
+@Tag("benchmark")
+class JwtParseThroughputTest {
+
+    private static final String SECRET = "12345678901234567890123456789012";
+    private static final int WARMUP = 20_000;
+    private static final int REQUESTS = 100_000;
+    // Three verifications down to one; leave room for noise on a shared machine
+    private static final double MIN_SPEEDUP = 1.5;
+
+    private static JwtService jwtService;
+    private static String token;
+    private static String email;
+
+    @BeforeAll
+    static void issueToken() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 86_400_000L);
+        jwtService.init();
+
+        CustomUserDetails principal = CustomUserDetails.fromClaims(JwtClaims.builder()
+                .subject("john.smith@company.com")
+                .role("EMPLOYEE")
+                .userId(UUID.randomUUID())
+                .departmentId(UUID.randomUUID())
+                .build());
+        token = jwtService.generateToken(principal);
+        email = principal.getUsername();
+    }
+
+    @Test
+    void parsingOncePerRequestBeatsTheOldTripleVerification() {
+        Consumer<String> before = t -> {
+            String subject = legacyClaims(t).getSubject();
+            boolean valid = legacyClaims(t).getSubject().equals(subject)
+                    && !legacyClaims(t).getExpiration().before(new Date());
+            assertThat(valid).isTrue();
+        };
+        Consumer<String> after = t -> {
+            JwtClaims claims = jwtService.parse(t);
+            assertThat(claims.getSubject()).isEqualTo(email);
+        };
+
+        double beforePerSecond = requestsPerSecond(before);
+        double afterPerSecond = requestsPerSecond(after);
+        log.info("Token handling per request: before {} req/s, after {} req/s ({}x)",
+                Math.round(beforePerSecond), Math.round(afterPerSecond),
+                String.format("%.2f", afterPerSecond / beforePerSecond));
+
+        assertThat(afterPerSecond).isGreaterThan(beforePerSecond * MIN_SPEEDUP);
+    }
+
+    // The pre-change JwtService.extractAllClaims: new key and parser on every call
+    private static Claims legacyClaims(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    private static double requestsPerSecond(Consumer<String> request) {
+        for (int i = 0; i < WARMUP; i++) {
+            request.accept(token);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            request.accept(token);
+        }
+        return REQUESTS / ((System.nanoTime() - start) / 1e9);
+    }
+}
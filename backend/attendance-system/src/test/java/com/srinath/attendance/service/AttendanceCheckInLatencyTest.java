@@ -0,0 +1,103 @@
+package com.srinath.attendance.service;
+
+import com.srinath.attendance.exception.InvalidAttendanceStateException;
+import com.srinath.attendance.support.Latencies;
+import com.srinath.attendance.support.PostgresTestDatabase;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// The 9 AM storm in miniature: 1,000 employees check in at the same instant through
+// AttendanceService against PostgreSQL; reports p50/p99 of the single-insert check-in path.
+@Slf4j
+@SpringBootTest
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+class AttendanceCheckInLatencyTest {
+
+    private static final int EMPLOYEES = 1_000;
+    // Generous ceiling for a shared CI machine; the old three-round-trip path queued far beyond it
+    private static final double MAX_P99_MILLIS = 2_000;
+
+    private static PostgresTestDatabase database;
+    private static List<UUID> userIds;
+
+    @Autowired
+    private AttendanceService attendanceService;
+
+    @BeforeAll
+    static void seedEmployees() {
+        database = PostgresTestDatabase.create();
+        JdbcTemplate jdbcTemplate = database.jdbcTemplate();
+        jdbcTemplate.execute("""
+                INSERT INTO users (id, name, email, password, employee_id, role_id, department_id)
+                SELECT gen_random_uuid(), 'Employee ' || n, 'checkin' || n || '@load.test', 'x', 'CHK-' || n,
+                       '550e8400-e29b-41d4-a716-446655440001', '550e8400-e29b-41d4-a716-446655440101'
+                FROM generate_series(1, %d) n
+                """.formatted(EMPLOYEES));
+        userIds = jdbcTemplate.queryForList("SELECT id FROM users WHERE email LIKE 'checkin%@load.test'", UUID.class);
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        database.springProperties().forEach((name, value) -> registry.add(name, () -> value));
+        registry.add("attendance.absent-job.cron", () -> "-");
+        registry.add("attendance.partitions.cron", () -> "-");
+    }
+
+    @Test
+    void thousandConcurrentCheckIns() throws Exception {
+        Latencies latencies = new Latencies(EMPLOYEES);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> calls = new ArrayList<>(EMPLOYEES);
+            for (UUID userId : userIds) {
+                calls.add(clients.submit(() -> {
+                    start.await();
+                    long started = System.nanoTime();
+                    attendanceService.checkIn(userId);
+                    latencies.record(started);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> call : calls) {
+                call.get(2, TimeUnit.MINUTES);
+            }
+        }
+
+        log.info("{} concurrent check-ins: p50 {} ms, p99 {} ms, max {} ms",
+                latencies.count(), latencies.percentile(50), latencies.percentile(99), latencies.percentile(100));
+
+        assertThat(latencies.count()).isEqualTo(EMPLOYEES);
+        assertThat(database.jdbcTemplate().queryForObject(
+                "SELECT COUNT(*) FROM attendances WHERE date = ?", Integer.class, LocalDate.now()))
+                .isEqualTo(EMPLOYEES);
+        assertThat(latencies.percentile(99)).isLessThan(MAX_P99_MILLIS);
+
+        // A double-click maps to "already checked in", not a constraint violation
+        assertThatThrownBy(() -> attendanceService.checkIn(userIds.get(0)))
+                .isInstanceOf(InvalidAttendanceStateException.class);
+    }
+}
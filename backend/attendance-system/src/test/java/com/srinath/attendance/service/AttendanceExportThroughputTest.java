@@ -0,0 +1,132 @@
+package com.srinath.attendance.service;
+
+import com.srinath.attendance.dto.request.ExportCriteria;
+import com.srinath.attendance.dto.response.ExportChunkResponse;
+import com.srinath.attendance.repository.AttendanceCursor;
+import com.srinath.attendance.repository.AttendanceJdbcRepository;
+import com.srinath.attendance.service.impl.AttendanceExportServiceImpl;
+import com.srinath.attendance.support.PostgresTestDatabase;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Export throughput over a company-wide range, as one cursor and as parallel keyset chunks.
+// Scaled down to 1M rows by default; -Dexport.benchmark.rows=10000000 runs the full payroll size.
+@Slf4j
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+class AttendanceExportThroughputTest {
+
+    private static final long ROWS = Long.getLong("export.benchmark.rows", 1_000_000L);
+    private static final int DAYS = 90;
+    private static final int CHUNK_SIZE = 100_000;
+    private static final int WORKERS = 4;
+    // Conservative floor so a regression to per-row queries or buffering fails loudly
+    private static final long MIN_ROWS_PER_SECOND = 50_000;
+
+    private static final LocalDate START = LocalDate.now().withDayOfMonth(1);
+    private static final LocalDate END = START.plusDays(DAYS - 1);
+
+    private static long seeded;
+    private static TransactionTemplate readOnly;
+    private static AttendanceExportService exportService;
+
+    @BeforeAll
+    static void seed() {
+        DataSource dataSource = PostgresTestDatabase.create().dataSource();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        // Dates start this month, so rows land in the monthly partitions rather than the default one
+        long users = Math.max(ROWS / DAYS, 1);
+        jdbcTemplate.execute("""
+                INSERT INTO users (id, name, email, password, employee_id, role_id, department_id)
+                SELECT gen_random_uuid(), 'Export User ' || n, 'export' || n || '@bench.test', 'x', 'EXP-' || n,
+                       '550e8400-e29b-41d4-a716-446655440001', '550e8400-e29b-41d4-a716-446655440101'
+                FROM generate_series(1, %d) n
+                """.formatted(users));
+        jdbcTemplate.update("""
+                INSERT INTO attendances (id, user_id, date, check_in_time, check_out_time, status, total_hours)
+                SELECT gen_random_uuid(), u.id, d::date, d + INTERVAL '9 hours', d + INTERVAL '17 hours', 'PRESENT', 8.0
+                FROM users u
+                CROSS JOIN generate_series(?::date, ?::date, INTERVAL '1 day') d
+                WHERE u.email LIKE 'export%@bench.test'
+                """, START, END);
+        jdbcTemplate.execute("ANALYZE attendances");
+        seeded = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM attendances WHERE date BETWEEN ? AND ?", Long.class, START, END);
+
+        readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly.setReadOnly(true);
+        exportService = new AttendanceExportServiceImpl(new AttendanceJdbcRepository(jdbcTemplate), 1000);
+    }
+
+    @Test
+    void streamsWholeRangeThroughOneCursor() {
+        ExportCriteria criteria = ExportCriteria.builder().startDate(START).endDate(END).build();
+
+        long start = System.nanoTime();
+        long exported = readOnly.execute(status -> exportService.exportCsv(criteria, true, OutputStream.nullOutputStream()));
+        long rowsPerSecond = rowsPerSecond(exported, start);
+        log.info("Single cursor: exported {} rows at {} rows/sec", exported, rowsPerSecond);
+
+        assertThat(exported).isEqualTo(seeded);
+        assertThat(rowsPerSecond).isGreaterThan(MIN_ROWS_PER_SECOND);
+    }
+
+    @Test
+    void exportsKeysetChunksInParallel() throws Exception {
+        ExportCriteria range = ExportCriteria.builder().startDate(START).endDate(END).build();
+        List<ExportChunkResponse> chunks = readOnly.execute(status -> exportService.planChunks(range, CHUNK_SIZE));
+
+        ExecutorService pool = Executors.newFixedThreadPool(WORKERS);
+        try {
+            long start = System.nanoTime();
+            List<Future<Long>> parts = new ArrayList<>(chunks.size());
+            for (ExportChunkResponse chunk : chunks) {
+                ExportCriteria criteria = ExportCriteria.builder()
+                        .startDate(START)
+                        .endDate(END)
+                        .after(chunk.getAfter() != null ? AttendanceCursor.decode(chunk.getAfter()) : null)
+                        .until(chunk.getUntil() != null ? AttendanceCursor.decode(chunk.getUntil()) : null)
+                        .build();
+                parts.add(pool.submit(() -> readOnly.execute(
+                        status -> exportService.exportCsv(criteria, false, OutputStream.nullOutputStream()))));
+            }
+
+            long exported = 0;
+            for (Future<Long> part : parts) {
+                exported += part.get();
+            }
+            long rowsPerSecond = rowsPerSecond(exported, start);
+            log.info("{} chunks on {} workers: exported {} rows at {} rows/sec",
+                    chunks.size(), WORKERS, exported, rowsPerSecond);
+
+            // Chunks are disjoint and cover the range: no row lost or exported twice
+            assertThat(exported).isEqualTo(seeded);
+            assertThat(rowsPerSecond).isGreaterThan(MIN_ROWS_PER_SECOND);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static long rowsPerSecond(long rows, long startNanos) {
+        long elapsedMillis = Math.max((System.nanoTime() - startNanos) / 1_000_000, 1);
+        return rows * 1000 / elapsedMillis;
+    }
+}
@@ -0,0 +1,124 @@
+package com.srinath.attendance.service;
+
+import com.srinath.attendance.dto.summary.BadgeScanImportSummary;
+import com.srinath.attendance.support.PostgresTestDatabase;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A day-end badge dump of 1M scans (10,000 employees x 50 days, one IN and one OUT each) imported
+// through BadgeScanImportService against PostgreSQL. The body is generated while it is read, so
+// the test itself holds no more than one line of it.
+@Slf4j
+@SpringBootTest
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+class BadgeScanImportThroughputTest {
+
+    private static final int EMPLOYEES = 10_000;
+    private static final int DAYS = 50;
+    private static final long SCANS = 2L * EMPLOYEES * DAYS;
+    private static final long MAX_MILLIS = 60_000;
+
+    // Dates start this month, so rows land in the monthly partitions rather than the default one
+    private static final LocalDate START = LocalDate.now().withDayOfMonth(1);
+
+    private static PostgresTestDatabase database;
+
+    @Autowired
+    private BadgeScanImportService badgeScanImportService;
+
+    @BeforeAll
+    static void seedEmployees() {
+        database = PostgresTestDatabase.create();
+        database.jdbcTemplate().execute("""
+                INSERT INTO users (id, name, email, password, employee_id, role_id, department_id)
+                SELECT gen_random_uuid(), 'Employee ' || n, 'badge' || n || '@bench.test', 'x', 'BDG-' || n,
+                       '550e8400-e29b-41d4-a716-446655440001', '550e8400-e29b-41d4-a716-446655440101'
+                FROM generate_series(1, %d) n
+                """.formatted(EMPLOYEES));
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        database.springProperties().forEach((name, value) -> registry.add(name, () -> value));
+        registry.add("attendance.absent-job.cron", () -> "-");
+        registry.add("attendance.partitions.cron", () -> "-");
+    }
+
+    @Test
+    void importsOneMillionScansInUnderAMinute() throws Exception {
+        BadgeScanImportSummary summary = badgeScanImportService.importScans(new GeneratedScans(),
+                BadgeScanImportService.Format.CSV);
+        log.info("Imported {} scans in {} ms ({} scans/s)",
+                summary.getScansAccepted(), summary.getElapsedMillis(), Math.round(summary.getScansPerSecond()));
+
+        assertThat(summary.getLinesRead()).isEqualTo(SCANS + 1);
+        assertThat(summary.getScansAccepted()).isEqualTo(SCANS);
+        assertThat(summary.getErrorCount()).isZero();
+        assertThat(summary.getAttendancesInserted()).isEqualTo(EMPLOYEES * DAYS);
+        assertThat(database.jdbcTemplate().queryForObject(
+                "SELECT COUNT(*) FROM attendances WHERE check_out_time IS NOT NULL", Long.class))
+                .isEqualTo((long) EMPLOYEES * DAYS);
+        assertThat(summary.getElapsedMillis()).isLessThan(MAX_MILLIS);
+    }
+
+    // employeeId,timestamp,direction lines, day by day; IN at 09:mm, OUT at 17:mm
+    private static final class GeneratedScans extends InputStream {
+
+        private byte[] line = "employeeId,timestamp,direction\n".getBytes(StandardCharsets.US_ASCII);
+        private int position;
+        private long next;
+
+        @Override
+        public int read() {
+            if (position == line.length && !advance()) {
+                return -1;
+            }
+            return line[position++];
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            int copied = 0;
+            while (copied < length && (position < line.length || advance())) {
+                int count = Math.min(length - copied, line.length - position);
+                System.arraycopy(line, position, buffer, offset + copied, count);
+                position += count;
+                copied += count;
+            }
+            return copied == 0 ? -1 : copied;
+        }
+
+        private boolean advance() {
+            if (next == SCANS) {
+                return false;
+            }
+            long pair = next / 2;
+            boolean in = next % 2 == 0;
+            LocalDate date = START.plusDays(pair / EMPLOYEES);
+            int employee = (int) (pair % EMPLOYEES) + 1;
+            String minute = "%02d".formatted(employee % 60);
+            line = ("BDG-" + employee + "," + date + (in ? "T09:" : "T17:") + minute + ":00," + (in ? "IN" : "OUT") + "\n")
+                    .getBytes(StandardCharsets.US_ASCII);
+            position = 0;
+            next++;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.srinath.attendance.service;
+
+import com.srinath.attendance.dto.summary.UserImportSummary;
+import com.srinath.attendance.support.PostgresTestDatabase;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// End-to-end onboarding throughput: parse, validate, BCrypt and batch-insert a CSV through
+// UserImportService against PostgreSQL. Hashing dominates, so the rate is checked against what
+// the hashing pool can do at the measured cost of one BCrypt hash on this machine.
+@Slf4j
+@SpringBootTest
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+class UserImportThroughputTest {
+
+    private static final int ROWS = Integer.getInteger("user.import.benchmark.rows", 1_000);
+    private static final int HASH_PARALLELISM = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private static final String IT_DEPARTMENT = "550e8400-e29b-41d4-a716-446655440101";
+    // Share of the ideal hashing rate the whole import must reach
+    private static final double MIN_EFFICIENCY = 0.5;
+
+    private static PostgresTestDatabase database;
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @BeforeAll
+    static void createDatabase() {
+        database = PostgresTestDatabase.create();
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        database.springProperties().forEach((name, value) -> registry.add(name, () -> value));
+        registry.add("attendance.user-import.hash-parallelism", () -> HASH_PARALLELISM);
+        registry.add("attendance.absent-job.cron", () -> "-");
+        registry.add("attendance.partitions.cron", () -> "-");
+    }
+
+    @Test
+    void importsUsersAtTheHashingPoolRate() throws Exception {
+        StringBuilder csv = new StringBuilder("name,email,password,departmentId\n");
+        for (int i = 0; i < ROWS; i++) {
+            csv.append("Imported User ").append(i).append(",bench.user").append(i).append("@company.com,")
+                    .append("Password@").append(i).append(',').append(IT_DEPARTMENT).append('\n');
+        }
+
+        UserImportSummary summary = userImportService.importUsers(
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)), UserImportService.Format.CSV);
+
+        double idealPerSecond = HASH_PARALLELISM * 1000.0 / singleHashMillis();
+        log.info("Imported {} users in {} ms ({} ms hashing): {} users/s, hashing pool ideal {} users/s",
+                summary.getUsersCreated(), summary.getElapsedMillis(), summary.getHashingMillis(),
+                Math.round(summary.getUsersPerSecond()), Math.round(idealPerSecond));
+
+        assertThat(summary.getErrorCount()).isZero();
+        assertThat(summary.getUsersCreated()).isEqualTo(ROWS);
+        assertThat(summary.getUsersPerSecond()).isGreaterThan(idealPerSecond * MIN_EFFICIENCY);
+    }
+
+    // Median single-threaded cost of one hash at the application's BCrypt strength
+    private static double singleHashMillis() {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+        encoder.encode("warm-up");
+        long[] samples = new long[9];
+        for (int i = 0; i < samples.length; i++) {
+            long start = System.nanoTime();
+            encoder.encode("Password@" + i);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[samples.length / 2] / 1e6;
+    }
+}
@@ -0,0 +1,34 @@
+package com.srinath.attendance.support;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Fixed-size latency recorder for load tests; safe to record from many threads at once
+public final class Latencies {
+
+    private final long[] nanos;
+    private final AtomicInteger count = new AtomicInteger();
+
+    public Latencies(int capacity) {
+        this.nanos = new long[capacity];
+    }
+
+    public void record(long startNanos) {
+        nanos[count.getAndIncrement()] = System.nanoTime() - startNanos;
+    }
+
+    public int count() {
+        return count.get();
+    }
+
+    // Nearest-rank percentile in milliseconds, e.g. percentile(99)
+    public double percentile(double percent) {
+        long[] sorted = Arrays.copyOf(nanos, count.get());
+        if (sorted.length == 0) {
+            return 0;
+        }
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.clamp(rank - 1, 0, sorted.length - 1)] / 1e6;
+    }
+}
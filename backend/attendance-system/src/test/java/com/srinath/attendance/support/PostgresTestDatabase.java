@@ -0,0 +1,100 @@
+package com.srinath.attendance.support;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Shared PostgreSQL fixture: one container per test JVM, and a fresh database in it for every
+// caller, migrated with the application's Flyway scripts. Test classes using it carry
+// @Testcontainers(disabledWithoutDocker = true) so they are skipped where Docker is missing.
+public final class PostgresTestDatabase {
+
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+    private static PostgreSQLContainer<?> container;
+
+    private final String jdbcUrl;
+    private final String username;
+    private final String password;
+
+    private PostgresTestDatabase(String jdbcUrl, String username, String password) {
+        this.jdbcUrl = jdbcUrl;
+        this.username = username;
+        this.password = password;
+    }
+
+    public static PostgresTestDatabase create() {
+        PostgreSQLContainer<?> postgres = container();
+        String name = "test_" + DATABASES.incrementAndGet();
+        try (Connection con = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+             Statement st = con.createStatement()) {
+            st.execute("CREATE DATABASE " + name);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not create test database " + name, e);
+        }
+
+        // Same driver flags as the application datasource
+        String url = "jdbc:postgresql://%s:%d/%s?reWriteBatchedInserts=true".formatted(
+                postgres.getHost(), postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT), name);
+        Flyway.configure()
+                .dataSource(url, postgres.getUsername(), postgres.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        return new PostgresTestDatabase(url, postgres.getUsername(), postgres.getPassword());
+    }
+
+    private static synchronized PostgreSQLContainer<?> container() {
+        if (container == null) {
+            // Stopped by the Testcontainers reaper when the JVM exits
+            PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+            postgres.start();
+            container = postgres;
+        }
+        return container;
+    }
+
+    public String getJdbcUrl() {
+        return jdbcUrl;
+    }
+
+    public Connection connect() throws SQLException {
+        return DriverManager.getConnection(jdbcUrl, username, password);
+    }
+
+    // A new connection per operation, so concurrent callers never share one
+    public DataSource dataSource() {
+        return new DriverManagerDataSource(jdbcUrl, username, password);
+    }
+
+    public JdbcTemplate jdbcTemplate() {
+        return new JdbcTemplate(dataSource());
+    }
+
+    // Spring properties pointing a context at this database (schema already migrated)
+    public Map<String, String> springProperties() {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", jdbcUrl);
+        properties.put("spring.datasource.username", username);
+        properties.put("spring.datasource.password", password);
+        properties.put("spring.flyway.enabled", "false");
+        return properties;
+    }
+
+    // The same as command-line arguments, which take precedence over application.yaml
+    public List<String> springArguments() {
+        return springProperties().entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toList();
+    }
+}